@@ -0,0 +1,100 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost the {@link WriteJournal} adds to each appended record: one scalar and one
+ * 100-element {@code double[]} record, including the epoch change the writer's
+ * flush triggers every 200 records (retired straight away, as if the fsync were instant).
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteJournalBenchmark {
+
+    private static final int RECORDS_PER_FLUSH = 200;
+
+    private Path dir;
+    private WriteJournal journal;
+    private double[] array;
+    private int sinceReset;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("journal-bench");
+        journal = WriteJournal.open(dir.resolve(WriteJournal.FILE_NAME), 4 * 1024 * 1024);
+        array = new double[100];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i * 0.125;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(dir.resolve(WriteJournal.FILE_NAME));
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void scalar() {
+        beforeRecord();
+        journal.beginData(0, 1_000_000L, 8).putDouble(2.41188);
+        journal.commit();
+    }
+
+    @Benchmark
+    public void array100() {
+        beforeRecord();
+        ByteBuffer out = journal.beginData(0, 1_000_000L, 8 * array.length);
+        for (double value : array) {
+            out.putDouble(value);
+        }
+        journal.commit();
+    }
+
+    private void beforeRecord() {
+        if (++sinceReset >= RECORDS_PER_FLUSH) {
+            journal.retire(journal.advance());
+            sinceReset = 0;
+        }
+        if (!journal.isDefined(0)) {
+            journal.define(0, "/Chassis/BackRightModule/TargetState/Angle", "double");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the in-place CSV tokenizer used by {@link CsvTelemetryStage} with the
+ * previous {@code String.split} parser, for a scalar record and a 100-element
+ * {@code double_array} record. Both start from the raw datagram bytes.
+ *
+ * <p>Run with {@code ./gradlew jmh}; add {@code -prof gc} via
+ * {@code jmh.profilers} to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParseBenchmark {
+
+    @Param({"scalar", "array100"})
+    public String payload;
+
+    private byte[] raw;
+    private ByteBuffer buffer;
+    private CsvTelemetryStage stage;
+    private TelemetrySink sink;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        String record;
+        if ("scalar".equals(payload)) {
+            record = "1832883890,/Chassis/BackRightModule/TargetState/Angle,double,2.41188,Speed, Angle";
+        } else {
+            StringBuilder values = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                values.append(i == 0 ? "" : ";").append(i * 0.125 - 3.5);
+            }
+            record = "1832883890,/Vision/Ranges,double_array," + values + ",m";
+        }
+        raw = record.getBytes(StandardCharsets.UTF_8);
+        buffer = ByteBuffer.wrap(raw);
+        stage = new CsvTelemetryStage();
+        sink = blackhole::consume;
+    }
+
+    @Benchmark
+    public int tokenizer() {
+        return stage.parse(buffer, TelemetrySource.UDP, true, sink);
+    }
+
+    @Benchmark
+    public void splitBaseline(Blackhole blackhole) {
+        // The pre-tokenizer path: decode, split lines, split(",", 5), trim, concat, parse.
+        String text = new String(raw, StandardCharsets.UTF_8);
+        int start = 0;
+        while (start < text.length()) {
+            int newline = text.indexOf('\n', start);
+            int end = newline < 0 ? text.length() : newline;
+            String record = text.substring(start, end);
+            if (!record.isBlank()) {
+                blackhole.consume(splitRecord(record));
+            }
+            start = end + 1;
+        }
+    }
+
+    private static TelemetryEvent splitRecord(String record) {
+        String[] parts = record.split(",", 5);
+        String rawTimestamp = parts[0].trim();
+        long timestampMicros = rawTimestamp.contains(".")
+                ? (long) (Double.parseDouble(rawTimestamp) * 1_000_000)
+                : Long.parseLong(rawTimestamp);
+        String signalId = parts[1].trim();
+        String type = parts[2].trim();
+        String value = parts[3].trim();
+        String units = parts.length > 4 ? parts[4].trim() : "";
+        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
+        Object parsed;
+        TelemetryPayloadType payloadType;
+        switch (type.toLowerCase()) {
+            case "double" -> {
+                payloadType = TelemetryPayloadType.DOUBLE;
+                parsed = Double.parseDouble(value);
+            }
+            case "double_array" -> {
+                String[] elements = value.split(";");
+                double[] values = new double[elements.length];
+                for (int i = 0; i < elements.length; i++) {
+                    values[i] = Double.parseDouble(elements[i]);
+                }
+                payloadType = TelemetryPayloadType.DOUBLE_ARRAY;
+                parsed = values;
+            }
+            default -> throw new IllegalStateException("benchmark only covers double payloads: " + type);
+        }
+        return new TelemetryEvent(timestampMicros, TelemetrySource.UDP, payloadType, entryName, parsed, null);
+    }
+}
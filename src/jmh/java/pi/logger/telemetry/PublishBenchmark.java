@@ -0,0 +1,94 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Producer/consumer handoff cost of the old {@code LinkedBlockingQueue} versus the
+ * preallocated {@link TelemetryRingBuffer}, one producer and one consumer thread
+ * per group (matching UdpReceiver and the processor). Compare the producer-side
+ * scores for enqueue latency; run with {@code -prof gc} to see the per-event node
+ * allocation disappear.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishBenchmark {
+
+    private static final int CAPACITY = 20_000;
+
+    private final LinkedBlockingQueue<TelemetryEvent> queue = new LinkedBlockingQueue<>(CAPACITY);
+    private final TelemetryRingBuffer ring = new TelemetryRingBuffer(CAPACITY);
+    private final TelemetryEvent template =
+            TelemetryEvent.ofDouble(0, TelemetrySource.UDP, "bench/value", 1.5, TelemetryEvent.NO_HANDLE);
+    private long nextSequence;
+
+    @Benchmark
+    @Group("linkedQueue")
+    @GroupThreads(1)
+    public boolean queueOffer() {
+        return queue.offer(template);
+    }
+
+    @Benchmark
+    @Group("linkedQueue")
+    @GroupThreads(1)
+    public TelemetryEvent queuePoll() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public boolean ringPublish() {
+        long sequence = ring.tryClaim();
+        if (sequence == TelemetryRingBuffer.FULL) {
+            return false;
+        }
+        ring.slot(sequence).setScalar(
+                template.timestampUs(), template.source(), template.payloadType(), template.channel(),
+                Double.doubleToRawLongBits(template.doubleValue()), TelemetryEvent.NO_HANDLE);
+        ring.publish(sequence);
+        return true;
+    }
+
+    @Benchmark
+    @Group("ring")
+    @GroupThreads(1)
+    public double ringConsume() {
+        if (!ring.isPublished(nextSequence)) {
+            return 0;
+        }
+        double value = ring.slot(nextSequence).doubleValue();
+        ring.release(nextSequence++);
+        return value;
+    }
+}
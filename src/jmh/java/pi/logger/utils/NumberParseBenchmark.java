@@ -0,0 +1,79 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link FastNumberParser} with the JDK parsers on the value shapes the
+ * robot sends. The JDK side includes the substring/trim it used to need.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberParseBenchmark {
+
+    @Param({"2.41188", "-0.0123456789012345", "1832903929", "6.02214076E23"})
+    public String value;
+
+    private String field;
+    private byte[] record;
+    private int start;
+    private int end;
+
+    @Setup
+    public void setup() {
+        field = "x," + value + ",units";
+        record = field.getBytes(StandardCharsets.US_ASCII);
+        start = 2;
+        end = start + value.length();
+    }
+
+    @Benchmark
+    public double jdkDouble() {
+        return Double.parseDouble(field.substring(start, end).trim());
+    }
+
+    @Benchmark
+    public double fastDouble() {
+        return FastNumberParser.parseDouble(record, start, end);
+    }
+
+    @Benchmark
+    public long timestampJdk() {
+        String raw = field.substring(start, end).trim();
+        return raw.contains(".") ? (long) (Double.parseDouble(raw) * 1_000_000) : Long.parseLong(raw);
+    }
+
+    @Benchmark
+    public long timestampFast() {
+        return TimeUtils.parseTimestampMicros(record, start, end);
+    }
+}
@@ -18,15 +18,23 @@ package pi.logger;
 import edu.wpi.first.networktables.NetworkTablesJNI;
 import edu.wpi.first.math.jni.WPIMathJNI;
 import edu.wpi.first.util.WPIUtilJNI;
+import pi.logger.config.LoggerConfig;
+import pi.logger.datalog.LogCompressor;
+import pi.logger.datalog.LogRetentionManager;
 import pi.logger.datalog.USBFileLogger;
 import pi.logger.nt.HealthPublisher;
 import pi.logger.nt.LimelightVideoRecorder;
 import pi.logger.nt.MatchInfoListener;
 import pi.logger.nt.NetworkTablesLogger;
 import pi.logger.nt.NtClient;
+import pi.logger.nt.NtTimeSync;
+import pi.logger.nt.NtTopicMirror;
 import pi.logger.nt.OculusVideoRecorder;
+import pi.logger.telemetry.BinaryTelemetryStage;
 import pi.logger.telemetry.CsvTelemetryStage;
 import pi.logger.telemetry.DataLogStage;
+import pi.logger.telemetry.DedupTelemetryStage;
+import pi.logger.telemetry.RateLimitTelemetryStage;
 import pi.logger.telemetry.TelemetryProcessor;
 import pi.logger.udp.UdpReceiver;
 
@@ -130,13 +138,24 @@ public class PiLogger {
         MatchInfoListener.start();
         HealthPublisher.start();
 
+        LogCompressor.start();
         USBFileLogger.start();
+        LogRetentionManager.start();
         TelemetryProcessor.registerStage(new CsvTelemetryStage());
+        TelemetryProcessor.registerStage(new BinaryTelemetryStage());
+        if (!LoggerConfig.getString("telemetry.rateLimits", "").isBlank()) {
+            TelemetryProcessor.registerStage(new RateLimitTelemetryStage());
+        }
+        if (LoggerConfig.getBoolean("telemetry.dedup", false)) {
+            TelemetryProcessor.registerStage(new DedupTelemetryStage());
+        }
         TelemetryProcessor.registerStage(new DataLogStage());
         TelemetryProcessor.start();
+        NtTimeSync.start();
 
         UdpReceiver.start();
         NetworkTablesLogger.start();
+        NtTopicMirror.start();
         OculusVideoRecorder.start();
         LimelightVideoRecorder.start();
 
@@ -35,28 +35,19 @@ public final class Pose2dUtil {
 
     private Pose2dUtil() {}
 
-    public static Pose2d fromString(String str) {
-        if (str == null || str.isBlank()) {
-            LOG.warn("Input string is null or blank, cannot parse Pose2d");
-            throw new IllegalArgumentException("Input string cannot be null or blank");
-        }
-        String[] parts = str.split(";", 3);
-        if (parts.length < REQUIRED_LENGTH) {
-            LOG.warn("Input string does not have enough parts, cannot parse Pose2d: {}", str);
+    /**
+     * Builds a pose from {@code [x, y, rotationRadians]}; extra elements are ignored.
+     *
+     * @throws IllegalArgumentException if fewer than {@link #REQUIRED_LENGTH} values are given
+     */
+    public static Pose2d fromArray(double[] values) {
+        if (values == null || values.length < REQUIRED_LENGTH) {
+            LOG.warn("Array does not have enough values, cannot parse Pose2d: {}",
+                values == null ? "null" : values.length);
             throw new IllegalArgumentException(
-                "Input string must have at least " + REQUIRED_LENGTH + " parts separated by ';' [x;y;rotation]"
+                "Array must have at least " + REQUIRED_LENGTH + " values [x, y, rotation]"
             );
         }
-        try {
-            double x = Double.parseDouble(parts[0].trim());
-            double y = Double.parseDouble(parts[1].trim());
-            double rotation = Double.parseDouble(parts[2].trim());
-            Pose2d pose = new Pose2d(new Translation2d(x, y), Rotation2d.fromRadians(rotation));
-            return pose;
-        } catch (NumberFormatException e) {
-            LOG.warn("Invalid number format in input string, cannot parse Pose2d: {}", str);
-            throw new IllegalArgumentException("Invalid number format in input string: " + str, e);
-        }
+        return new Pose2d(new Translation2d(values[0], values[1]), Rotation2d.fromRadians(values[2]));
     }
-
 }
@@ -0,0 +1,101 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import edu.wpi.first.util.struct.Struct;
+
+/**
+ * Assigns each logged channel a dense, stable handle.
+ *
+ * <p>Handles are resolved once (by name, with a lock-free hash lookup) and then
+ * cached by the caller, so steady-state appends index straight into
+ * {@link USBFileLogger}'s per-file tables with no hashing, string comparison or
+ * locking. Registration is rare and serialized; lookups by handle read a
+ * copy-on-write array and never block.
+ */
+final class ChannelRegistry {
+
+    static final int NO_HANDLE = -1;
+
+    /** A registered channel. Immutable once published. */
+    static final class Channel {
+        final int handle;
+        final String name;
+        /** WPILOG entry type, e.g. {@code double} or {@code struct:Pose2d[]}. */
+        final String type;
+        /** Element struct for struct and struct-array channels, otherwise {@code null}. */
+        final Struct<?> struct;
+
+        private Channel(int handle, String name, String type, Struct<?> struct) {
+            this.handle = handle;
+            this.name = name;
+            this.type = type;
+            this.struct = struct;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Channel> byName = new ConcurrentHashMap<>();
+    /** Names already reported as registered with conflicting types; keeps the warning to once per name. */
+    private final ConcurrentHashMap<String, Boolean> conflicts = new ConcurrentHashMap<>();
+    private volatile Channel[] byHandle = new Channel[64];
+    private int count = 0; // guarded by this
+
+    /**
+     * Returns the handle for {@code name}, registering it on first use. Returns
+     * {@link #NO_HANDLE} if the name is already registered with a different type.
+     */
+    int resolve(String name, String type, Struct<?> struct) {
+        Channel existing = byName.get(name);
+        if (existing == null) {
+            existing = register(name, type, struct);
+        }
+        return existing.type.equals(type) ? existing.handle : NO_HANDLE;
+    }
+
+    /** True the first time a conflicting registration is reported for {@code name}. */
+    boolean firstConflict(String name) {
+        return conflicts.putIfAbsent(name, Boolean.TRUE) == null;
+    }
+
+    /** Registered type for {@code name}, or {@code null}. */
+    String typeOf(String name) {
+        Channel channel = byName.get(name);
+        return channel == null ? null : channel.type;
+    }
+
+    /** The channel behind a handle returned by {@link #resolve}. Lock-free. */
+    Channel get(int handle) {
+        return byHandle[handle];
+    }
+
+    private synchronized Channel register(String name, String type, Struct<?> struct) {
+        Channel existing = byName.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        Channel[] table = byHandle;
+        if (count == table.length) {
+            table = Arrays.copyOf(table, count * 2);
+        }
+        Channel channel = new Channel(count, name, type, struct);
+        table[count++] = channel;
+        // Publish the table before the name so anyone who finds the handle can read it.
+        byHandle = table;
+        byName.put(name, channel);
+        return channel;
+    }
+}
@@ -0,0 +1,63 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads log files whether or not {@link LogCompressor} has gzipped them, without
+ * unpacking to disk. Analysis tools can either stream the raw WPILOG bytes with
+ * {@link #open(Path)} or iterate records with {@link #openReader(Path)}.
+ */
+public final class CompressedLogReader {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private CompressedLogReader() {}
+
+    /** Streams the uncompressed contents of {@code file}, decompressing {@code .gz} files on the fly. */
+    public static InputStream open(Path file) throws IOException {
+        InputStream in = Files.newInputStream(file);
+        try {
+            return isCompressed(file)
+                    ? new GZIPInputStream(in, BUFFER_BYTES)
+                    : new BufferedInputStream(in, BUFFER_BYTES);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Decompresses {@code file} into memory and returns a WPILib reader over it.
+     * Check {@link DataLogReader#isValid()} before iterating.
+     */
+    public static DataLogReader openReader(Path file) throws IOException {
+        try (InputStream in = open(file)) {
+            return new DataLogReader(ByteBuffer.wrap(in.readAllBytes()));
+        }
+    }
+
+    public static boolean isCompressed(Path file) {
+        return file.getFileName().toString().endsWith(LogCompressor.SUFFIX);
+    }
+}
@@ -0,0 +1,119 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+/**
+ * Decides when {@link USBFileLogger} flushes the current file.
+ *
+ * <p>{@link Mode#FIXED} flushes after {@code logger.flushEntryThreshold} appends or
+ * {@code logger.flushTimeThresholdMs}, whichever comes first. {@link Mode#ADAPTIVE}
+ * flushes every {@code logger.flushIdleMs} while the robot is disabled, when flushes
+ * are cheap and there is little else to do, and falls back to the fixed thresholds
+ * while it is enabled. In either state it doubles both thresholds while the average
+ * flush takes longer than the latency target and halves them again once flushes are
+ * quick, but never lets the interval exceed {@code logger.flushMaxAtRiskMs}, the most
+ * data a crash may cost.
+ *
+ * <p>Pure state machine with no I/O; called from the writer thread only. The
+ * effective thresholds are volatile so the health publisher can read them.
+ */
+final class FlushPolicy {
+
+    enum Mode {
+        FIXED,
+        ADAPTIVE;
+
+        static Mode fromConfig(String name) {
+            return "fixed".equalsIgnoreCase(name == null ? "" : name.trim()) ? FIXED : ADAPTIVE;
+        }
+    }
+
+    private static final int MAX_BACKOFF = 64;
+    /** Weight of the newest flush in the average, as a shift: 1/8. */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final Mode mode;
+    private final int entryThreshold;
+    private final long enabledIntervalMs;
+    private final long idleIntervalMs;
+    private final long maxAtRiskMs;
+    private final long latencyTargetNanos;
+
+    private boolean enabled = false;
+    private int backoff = 1;
+    private long averageNanos = 0;
+    private volatile int effectiveEntryThreshold;
+    private volatile long effectiveIntervalMs;
+
+    FlushPolicy(Mode mode, int entryThreshold, long enabledIntervalMs, long idleIntervalMs,
+                long maxAtRiskMs, long latencyTargetNanos) {
+        this.mode = mode;
+        this.entryThreshold = entryThreshold;
+        this.enabledIntervalMs = enabledIntervalMs;
+        this.idleIntervalMs = idleIntervalMs;
+        this.maxAtRiskMs = Math.max(maxAtRiskMs, Math.min(enabledIntervalMs, idleIntervalMs));
+        this.latencyTargetNanos = latencyTargetNanos;
+        recompute();
+    }
+
+    /** Whether {@code writesSinceFlush} appends over {@code msSinceFlush} call for a flush now. */
+    boolean shouldFlush(long writesSinceFlush, long msSinceFlush) {
+        return writesSinceFlush > 0
+                && (writesSinceFlush >= effectiveEntryThreshold || msSinceFlush >= effectiveIntervalMs);
+    }
+
+    /** Tells the policy whether the robot is enabled. */
+    void robotEnabled(boolean enabled) {
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            recompute();
+        }
+    }
+
+    /** Feeds back how long a flush took. */
+    void flushed(long nanos) {
+        averageNanos += (nanos - averageNanos) >> AVERAGE_SHIFT;
+        if (mode == Mode.FIXED) {
+            return;
+        }
+        if (averageNanos > latencyTargetNanos && backoff < MAX_BACKOFF
+                && intervalMs(backoff) < maxAtRiskMs) {
+            backoff <<= 1;
+            recompute();
+        } else if (averageNanos < latencyTargetNanos / 2 && backoff > 1) {
+            backoff >>= 1;
+            recompute();
+        }
+    }
+
+    int entryThreshold() {
+        return effectiveEntryThreshold;
+    }
+
+    long intervalMs() {
+        return effectiveIntervalMs;
+    }
+
+    private long intervalMs(int factor) {
+        long base = mode == Mode.ADAPTIVE && !enabled ? idleIntervalMs : enabledIntervalMs;
+        return Math.min(maxAtRiskMs, base * factor);
+    }
+
+    private void recompute() {
+        int factor = mode == Mode.ADAPTIVE ? backoff : 1;
+        effectiveEntryThreshold = (int) Math.min(Integer.MAX_VALUE, (long) entryThreshold * factor);
+        effectiveIntervalMs = mode == Mode.ADAPTIVE ? intervalMs(factor) : enabledIntervalMs;
+    }
+}
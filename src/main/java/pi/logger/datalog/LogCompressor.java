@@ -0,0 +1,183 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import pi.logger.config.LoggerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gzips closed {@code .wpilog} files in the background so they copy off the USB
+ * stick faster between matches.
+ *
+ * <p>{@link USBFileLogger} hands over each file once it has been closed and renamed,
+ * plus any uncompressed logs found at startup. A single low-priority thread writes
+ * {@code <name>.wpilog.gz} next to the original via a hidden temporary file, keeps
+ * the original modification time (so retention still sees its real age), then
+ * deletes the original. After every chunk it sleeps long enough to stay within
+ * {@code compression.cpuBudgetPercent} of one core. Use {@link CompressedLogReader}
+ * to read the result.
+ */
+public final class LogCompressor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogCompressor.class);
+
+    static final String SUFFIX = ".gz";
+    private static final String TEMP_PREFIX = ".compress_";
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private static final boolean ENABLED = LoggerConfig.getBoolean("compression.enabled", true);
+    private static final int LEVEL = LoggerConfig.getInt("compression.level", 6, 1, 9);
+    private static final int CPU_BUDGET_PERCENT = LoggerConfig.getInt("compression.cpuBudgetPercent", 25, 1, 100);
+
+    private static final BlockingQueue<Path> pending = new LinkedBlockingQueue<>();
+    private static volatile long compressedFiles = 0;
+    private static volatile boolean running = false;
+
+    private LogCompressor() {}
+
+    public static void start() {
+        if (!ENABLED) {
+            LOG.info("Log compression disabled");
+            return;
+        }
+        LOG.info("Log compression: level={}, cpuBudgetPercent={}", LEVEL, CPU_BUDGET_PERCENT);
+        running = true;
+        Thread t = new Thread(LogCompressor::run, "log-compressor");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        t.start();
+    }
+
+    /** Queues a closed log file for compression; ignored when compression is disabled. */
+    static void submit(Path file) {
+        if (running) {
+            pending.add(file);
+        }
+    }
+
+    /**
+     * Queues every closed {@code .wpilog} in {@code dir}, e.g. the last file of the
+     * previous run, and removes temporary files an interrupted compression left behind.
+     * Must be called before the first new file is opened there.
+     */
+    static void submitExisting(File dir) {
+        if (!running) {
+            return;
+        }
+        File[] leftovers = dir.listFiles((d, name) -> name.startsWith(TEMP_PREFIX));
+        if (leftovers != null) {
+            for (File file : leftovers) {
+                if (!file.delete()) {
+                    LOG.warn("Could not remove partial compressed file {}", file.getName());
+                }
+            }
+        }
+        File[] logs = dir.listFiles((d, name) -> !name.startsWith(".") && name.endsWith(".wpilog"));
+        if (logs != null) {
+            for (File file : logs) {
+                pending.add(file.toPath());
+            }
+        }
+    }
+
+    /** Files waiting to be compressed. */
+    public static int getPendingFiles() {
+        return pending.size();
+    }
+
+    /** Files compressed since startup. */
+    public static long getCompressedFiles() {
+        return compressedFiles;
+    }
+
+    private static void run() {
+        while (running) {
+            Path file;
+            try {
+                file = pending.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                Path out = compress(file, LEVEL, CPU_BUDGET_PERCENT);
+                compressedFiles++;
+                LOG.info("Compressed {} to {} in {} ms", file.getFileName(), out.getFileName(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOG.warn("Could not compress {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replaces {@code file} with {@code <file>.gz}, sleeping between chunks so that
+     * compression takes at most {@code cpuBudgetPercent} of the elapsed time.
+     *
+     * @return the compressed file
+     */
+    static Path compress(Path file, int level, int cpuBudgetPercent) throws IOException, InterruptedException {
+        Path target = file.resolveSibling(file.getFileName() + SUFFIX);
+        Path temp = file.resolveSibling(TEMP_PREFIX + file.getFileName() + SUFFIX);
+        long idlePercentOfWork = 100L * (100 - cpuBudgetPercent) / cpuBudgetPercent;
+        byte[] chunk = new byte[CHUNK_BYTES];
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = new LeveledGzipOutputStream(Files.newOutputStream(temp), level)) {
+            int read;
+            while (true) {
+                long start = System.nanoTime();
+                if ((read = in.read(chunk)) < 0) {
+                    break;
+                }
+                out.write(chunk, 0, read);
+                long idleNanos = (System.nanoTime() - start) * idlePercentOfWork / 100;
+                if (idleNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(idleNanos);
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.setLastModifiedTime(temp, Files.getLastModifiedTime(file));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(file);
+        return target;
+    }
+
+    /** {@link GZIPOutputStream} with a chosen deflate level. */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, CHUNK_BYTES);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import pi.logger.config.LoggerConfig;
+import pi.logger.utils.FfmpegUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the USB stick from filling up during a multi-day event.
+ *
+ * <p>Every {@code retention.checkIntervalMs} it checks the free space under
+ * {@code logger.logDir}. Below {@code retention.minFreeMB} it deletes the oldest
+ * logs and videos from {@code logger.logDir} and {@code oculus.videoDir} until
+ * {@code retention.targetFreeMB} is free again. Match files (names carrying an FMS
+ * match tag, see {@link FfmpegUtils#matchFileTag()}) are never deleted, and neither
+ * are the file being written or anything modified in the last couple of minutes
+ * (e.g. a video that is still recording). If only protected files are left, it
+ * reports {@link #isDiskLow()} instead.
+ */
+public final class LogRetentionManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogRetentionManager.class);
+
+    private static final String DEFAULT_LOG_DIR = "/mnt/usb_logs";
+    private static final long MB = 1_000_000L;
+    /** Files touched more recently than this may still be open for writing. */
+    static final long RECENT_FILE_MS = 120_000;
+    /** Names from {@link FfmpegUtils#matchFileTag()}: {@code _QM12_}, {@code _EM3_R1_}, ... */
+    private static final Pattern MATCH_FILE = Pattern.compile(".*_(?:PM|QM|EM|M)-?\\d+(?:_R\\d+)?_.*");
+    private static final Pattern MANAGED_FILE = Pattern.compile(".*\\.(?:wpilog|mkv|log)(?:\\.gz)?$");
+
+    private static final boolean ENABLED = LoggerConfig.getBoolean("retention.enabled", true);
+    private static final long MIN_FREE_BYTES = LoggerConfig.getLong("retention.minFreeMB", 1024, 0) * MB;
+    private static final long TARGET_FREE_BYTES =
+            Math.max(MIN_FREE_BYTES, LoggerConfig.getLong("retention.targetFreeMB", 2048, 0) * MB);
+    private static final long CHECK_INTERVAL_MS = LoggerConfig.getLong("retention.checkIntervalMs", 30_000, 1000);
+
+    private static final File LOG_DIR = new File(LoggerConfig.getString("logger.logDir", DEFAULT_LOG_DIR));
+    private static final File VIDEO_DIR = new File(FfmpegUtils.getVideoDirPath());
+
+    private static volatile long deletedFiles = 0;
+    private static volatile boolean diskLow = false;
+
+    /** A file that retention may remove. */
+    record Candidate(Path path, long sizeBytes, long lastModifiedMs) {}
+
+    private LogRetentionManager() {}
+
+    public static void start() {
+        if (!ENABLED) {
+            LOG.info("Log retention disabled");
+            return;
+        }
+        LOG.info("Log retention: minFreeMB={}, targetFreeMB={}", MIN_FREE_BYTES / MB, TARGET_FREE_BYTES / MB);
+        Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "log-retention");
+            t.setDaemon(true);
+            return t;
+        }).scheduleWithFixedDelay(() -> {
+            try {
+                check();
+            } catch (Exception e) {
+                LOG.error("Log retention check failed: {}", e.getMessage());
+            }
+        }, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /** Files deleted to free space since startup. */
+    public static long getDeletedFiles() {
+        return deletedFiles;
+    }
+
+    /** True while free space is below the minimum and nothing unprotected is left to delete. */
+    public static boolean isDiskLow() {
+        return diskLow;
+    }
+
+    private static void check() {
+        long free = LOG_DIR.getUsableSpace();
+        if (free == 0 || free >= MIN_FREE_BYTES) {
+            // 0 means the directory isn't there (USB stick not mounted)
+            diskLow = false;
+            return;
+        }
+        List<Candidate> candidates = new ArrayList<>();
+        collect(LOG_DIR, candidates);
+        if (!VIDEO_DIR.equals(LOG_DIR)) {
+            collect(VIDEO_DIR, candidates);
+        }
+        List<Candidate> victims = selectForDeletion(
+                candidates, TARGET_FREE_BYTES - free, System.currentTimeMillis(), USBFileLogger.currentFilePath());
+
+        long freed = 0;
+        for (Candidate victim : victims) {
+            try {
+                Files.deleteIfExists(victim.path());
+                freed += victim.sizeBytes();
+                deletedFiles++;
+                LOG.info("Deleted {} ({} MB) to free space", victim.path().getFileName(), victim.sizeBytes() / MB);
+            } catch (IOException e) {
+                LOG.warn("Could not delete {}: {}", victim.path().getFileName(), e.getMessage());
+            }
+        }
+        diskLow = free + freed < MIN_FREE_BYTES;
+        if (diskLow) {
+            LOG.error("USB free space {} MB is below {} MB and only match or in-use files remain",
+                    (free + freed) / MB, MIN_FREE_BYTES / MB);
+        }
+    }
+
+    private static void collect(File dir, List<Candidate> out) {
+        File[] files = dir.listFiles((d, name) -> !name.startsWith(".") && MANAGED_FILE.matcher(name).matches());
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isFile()) {
+                out.add(new Candidate(file.toPath(), file.length(), file.lastModified()));
+            }
+        }
+    }
+
+    /**
+     * Oldest-first files to delete so that at least {@code bytesToFree} are released,
+     * skipping match files, {@code activeFile} and recently modified files. May free
+     * less than asked if not enough unprotected files exist.
+     */
+    static List<Candidate> selectForDeletion(
+            List<Candidate> candidates, long bytesToFree, long nowMs, Path activeFile) {
+        List<Candidate> eligible = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (isMatchFile(candidate.path().getFileName().toString())
+                    || candidate.path().equals(activeFile)
+                    || nowMs - candidate.lastModifiedMs() < RECENT_FILE_MS) {
+                continue;
+            }
+            eligible.add(candidate);
+        }
+        eligible.sort(Comparator.comparingLong(Candidate::lastModifiedMs));
+
+        List<Candidate> victims = new ArrayList<>();
+        long freed = 0;
+        for (Candidate candidate : eligible) {
+            if (freed >= bytesToFree) {
+                break;
+            }
+            victims.add(candidate);
+            freed += candidate.sizeBytes();
+        }
+        return victims;
+    }
+
+    static boolean isMatchFile(String name) {
+        return MATCH_FILE.matcher(name).matches();
+    }
+}
@@ -0,0 +1,104 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+/**
+ * Decides when {@link USBFileLogger} should start a new log file.
+ *
+ * <p>In {@link Mode#MATCH} mode each FMS match gets its own file: a new one starts
+ * when the robot is enabled under FMS with a match tag different from the current
+ * file, and it is closed once the robot has stayed disabled (or FMS has detached)
+ * for the tail window, which also covers the short disabled gap between auto and
+ * teleop. Outside matches, and always in {@link Mode#TIME} mode, files rotate on
+ * age or size. Match files are never split.
+ *
+ * <p>Pure state machine with no I/O; called from the writer thread only.
+ */
+final class LogSegmentPolicy {
+
+    enum Mode {
+        TIME,
+        MATCH;
+
+        static Mode fromConfig(String name) {
+            return "time".equalsIgnoreCase(name == null ? "" : name.trim()) ? TIME : MATCH;
+        }
+    }
+
+    /** Tag of a segment that belongs to no match. */
+    static final String NO_MATCH = "";
+
+    private final Mode mode;
+    private final long maxFileAgeMs;
+    private final long maxFileBytes;
+    private final long matchTailMs;
+
+    private long segmentStartMs;
+    /** Match tag of the current file, or {@code null} when it isn't a match file. */
+    private String currentMatchTag;
+    private long lastActiveMs;
+
+    LogSegmentPolicy(Mode mode, long maxFileAgeMs, long maxFileBytes, long matchTailMs) {
+        this.mode = mode;
+        this.maxFileAgeMs = maxFileAgeMs;
+        this.maxFileBytes = maxFileBytes;
+        this.matchTailMs = matchTailMs;
+    }
+
+    /** Records that a file with no match tag was opened at {@code nowMs}. */
+    void started(long nowMs) {
+        segmentStartMs = nowMs;
+        currentMatchTag = null;
+    }
+
+    /**
+     * Returns the tag for a file that should start now: a match tag,
+     * {@link #NO_MATCH}, or {@code null} to keep writing the current file.
+     *
+     * @param fileBytes approximate size of the current file
+     * @param matchTag identifies the FMS match (event, type, number, replay); only
+     *                 read while a match is running
+     */
+    String evaluate(long nowMs, long fileBytes, boolean fmsAttached, boolean enabled, String matchTag) {
+        if (mode == Mode.MATCH) {
+            if (fmsAttached && enabled) {
+                lastActiveMs = nowMs;
+                if (!matchTag.equals(currentMatchTag)) {
+                    currentMatchTag = matchTag;
+                    segmentStartMs = nowMs;
+                    return matchTag;
+                }
+                return null;
+            }
+            if (currentMatchTag != null) {
+                if (nowMs - lastActiveMs < matchTailMs) {
+                    return null;
+                }
+                started(nowMs);
+                return NO_MATCH;
+            }
+        }
+        if (nowMs - segmentStartMs >= maxFileAgeMs || fileBytes >= maxFileBytes) {
+            started(nowMs);
+            return NO_MATCH;
+        }
+        return null;
+    }
+
+    /** True while the current file belongs to a match. */
+    boolean inMatch() {
+        return currentMatchTag != null;
+    }
+}
@@ -15,21 +15,57 @@
 package pi.logger.datalog;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import edu.wpi.first.util.datalog.DataLogWriter;
 import edu.wpi.first.util.datalog.StructLogEntry;
 import edu.wpi.first.util.datalog.StructArrayLogEntry;
 import edu.wpi.first.util.struct.Struct;
 import pi.logger.config.LoggerConfig;
+import pi.logger.nt.MatchInfoListener;
+import pi.logger.telemetry.StageMetrics;
+import pi.logger.utils.FfmpegUtils;
+import pi.logger.utils.MpscRingBuffer;
 import pi.logger.utils.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Writes telemetry to rotating WPILOG files on the USB drive.
+ *
+ * <p>The {@code logX} methods never touch the file. They copy their arguments into a
+ * preallocated slot of a bounded ring and return. A dedicated writer thread
+ * ({@code file-logger}) owns the {@link DataLogWriter}. It drains whatever has queued
+ * up, appends it, and then flushes the whole batch at once (group commit), so a slow
+ * USB stick only ever stalls this thread. {@link FlushPolicy} decides how often. If
+ * the ring fills, the write is dropped and counted rather than blocking the caller.
+ * Array and struct values are handed over by reference, so callers must not modify
+ * them after logging.
+ *
+ * <p>With {@code logger.journal} enabled, every appended record is also copied into a
+ * {@link WriteJournal} until an fsync after a flush has put it on disk, and a crash's
+ * unsynced records are recovered into {@code udp_recovered_<time>.wpilog} at the next
+ * start.
+ */
 public final class USBFileLogger {
 
     private static final Logger LOG = LoggerFactory.getLogger(USBFileLogger.class);
@@ -37,121 +73,295 @@ public final class USBFileLogger {
     private static final long DEFAULT_MAX_FILE_AGE_MS = 5 * 60 * 1000; // 5 minutes
     private static final int DEFAULT_FLUSH_ENTRY_THRESHOLD = 200;
     private static final long DEFAULT_FLUSH_TIME_THRESHOLD_MS = 500;
+    private static final long DEFAULT_FLUSH_IDLE_MS = 100;
+    private static final long DEFAULT_FLUSH_MAX_AT_RISK_MS = 2000;
+    private static final long DEFAULT_FLUSH_LATENCY_TARGET_MS = 20;
+    private static final int DEFAULT_WRITE_QUEUE_CAPACITY = 32_768;
+    private static final long DEFAULT_MAX_FILE_BYTES = 100_000_000;
+    private static final long DEFAULT_MATCH_TAIL_MS = 15_000;
     private static final String DEFAULT_LOG_DIR = "/mnt/usb_logs";
+    private static final int DEFAULT_JOURNAL_BYTES = 4 * 1024 * 1024;
+    private static final long DEFAULT_JOURNAL_SYNC_MS = 100;
+    /** How long the writer parks when the queue is empty; bounds the added write latency. */
+    private static final long WRITER_IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int NO_HANDLE = ChannelRegistry.NO_HANDLE;
+    /** A spare this small holds only the WPILOG header. */
+    private static final long STALE_SPARE_MAX_BYTES = 64;
+    /** WPILOG record header: header byte, entry ID, payload size and timestamp at their usual widths. */
+    private static final int RECORD_OVERHEAD_BYTES = 12;
 
     private static final long maxFileAgeMs = LoggerConfig.getLong("logger.maxFileAgeMs", DEFAULT_MAX_FILE_AGE_MS, 1);
     private static final int flushEntryThreshold = LoggerConfig.getInt("logger.flushEntryThreshold", DEFAULT_FLUSH_ENTRY_THRESHOLD, 1, Integer.MAX_VALUE);
     private static final long flushTimeThresholdMs = LoggerConfig.getLong("logger.flushTimeThresholdMs", DEFAULT_FLUSH_TIME_THRESHOLD_MS, 1);
+    private static final FlushPolicy flushes = new FlushPolicy(
+            FlushPolicy.Mode.fromConfig(LoggerConfig.getString("logger.flushMode", "adaptive")),
+            flushEntryThreshold,
+            flushTimeThresholdMs,
+            LoggerConfig.getLong("logger.flushIdleMs", DEFAULT_FLUSH_IDLE_MS, 1),
+            LoggerConfig.getLong("logger.flushMaxAtRiskMs", DEFAULT_FLUSH_MAX_AT_RISK_MS, 1),
+            TimeUnit.MILLISECONDS.toNanos(
+                    LoggerConfig.getLong("logger.flushLatencyTargetMs", DEFAULT_FLUSH_LATENCY_TARGET_MS, 1)));
+    private static final StageMetrics flushMetrics = new StageMetrics("usbFlush");
+    private static final int writeQueueCapacity = LoggerConfig.getInt("logger.writeQueueCapacity", DEFAULT_WRITE_QUEUE_CAPACITY, 1, 1 << 30);
 
     private static final File LOG_DIR = new File(LoggerConfig.getString("logger.logDir", DEFAULT_LOG_DIR));
 
+    private static final boolean journalEnabled = LoggerConfig.getBoolean("logger.journal", false);
+    private static final int journalBytes = LoggerConfig.getInt("logger.journalBytes", DEFAULT_JOURNAL_BYTES, 64 * 1024, 1 << 30);
+    private static final long journalSyncMs = LoggerConfig.getLong("logger.journalSyncMs", DEFAULT_JOURNAL_SYNC_MS, 1);
+    /** Unflushed records of the current file; {@code null} when disabled or unavailable. Writer thread only. */
+    private static WriteJournal journal;
+    private static long journalRecordsSinceSync = 0;
+    private static long nextJournalSyncMs = 0;
+    /** Background fsync of the log file; yields the journal epoch it covers. Writer thread only. */
+    private static Future<Integer> journalFileSync;
+
     private static volatile boolean running = true;
-    private static Thread rotationThread;
+    private static Thread writerThread;
+
+    /**
+     * Opens spare files, and closes and renames finished ones (then hands them to
+     * {@link LogCompressor}), so the writer thread never waits on either.
+     */
+    private static final ExecutorService fileOps = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "file-logger-io");
+        t.setDaemon(true);
+        return t;
+    });
+    /** Pre-opened file the next rotation switches to; named once it is put into use. Writer thread only. */
+    private static Future<PreparedFile> spareFile;
+    private static int spareCounter = 0;
+    private static final String SPARE_PREFIX = ".udp_spare_";
 
-    private static DataLogWriter dataLog;
-    private static File currentFile;
-    private static long fileStartTime;
-    private static final Object flushLock = new Object();
+    private static final LogSegmentPolicy segments = new LogSegmentPolicy(
+            LogSegmentPolicy.Mode.fromConfig(LoggerConfig.getString("logger.segmentation", "match")),
+            maxFileAgeMs,
+            LoggerConfig.getLong("logger.maxFileBytes", DEFAULT_MAX_FILE_BYTES, 1_000_000),
+            LoggerConfig.getLong("logger.matchTailMs", DEFAULT_MATCH_TAIL_MS, 0));
+    /** Segment policy runs at this interval rather than on every writer pass. */
+    private static final long SEGMENT_CHECK_INTERVAL_MS = 100;
+    /** Back-off after a spare file failed to open (e.g. the USB stick was pulled). */
+    private static final long SPARE_RETRY_MS = 5000;
+    private static long nextSegmentCheckMs = 0; // writer thread only
+    /** Tag of a file the policy asked for but that hasn't been swapped in yet, or {@code null}. */
+    private static String pendingSegment; // writer thread only
+
+    private static final MpscRingBuffer<PendingWrite> writes =
+            new MpscRingBuffer<>(writeQueueCapacity, PendingWrite::new);
+    private static final AtomicLong droppedWrites = new AtomicLong();
+    private static volatile boolean flushRequested = false;
+
+    // Owned by the writer thread; dataLog is volatile only so callers can skip
+    // queueing before the first file is open.
+    private static volatile DataLogWriter dataLog;
+    private static volatile File currentFile;
+    /** Estimated bytes appended to the current file, for size-based rotation. */
+    private static long bytesInFile = 0;
     private static long writesSinceFlush = 0;
     private static long lastFlushTimeMs = System.currentTimeMillis();
 
-    // Cache of entry IDs by entry name
-    private static final Map<String, Integer> entryIds = new HashMap<>();
-    
-    // Cache of struct log entries (support multiple struct types)
-    private static final Map<String, StructLogEntry<?>> structEntries = new HashMap<>();
-    private static final Map<String, StructArrayLogEntry<?>> structArrayEntries = new HashMap<>();
+    // Every channel gets a handle from the registry; queued writes carry only the handle.
+    private static final ChannelRegistry registry = new ChannelRegistry();
+
+    // Per-file entries indexed by handle (writer thread only). An entry ID of -1 or a
+    // null struct entry means the channel has not been started in the current file yet.
+    private static int[] entryIds = new int[0];
+    private static StructLogEntry<?>[] structEntries = new StructLogEntry<?>[0];
+    private static StructArrayLogEntry<?>[] structArrayEntries = new StructArrayLogEntry<?>[0];
+
+    /**
+     * Schemas for channels registered by type string alone (e.g. mirrored NT struct topics),
+     * keyed by the name records of that type refer to. Written to every file.
+     */
+    private static final Map<String, ExternalSchema> externalSchemas = new ConcurrentHashMap<>();
+    private static final AtomicInteger externalSchemaVersion = new AtomicInteger();
+    /** {@link #externalSchemaVersion} last written to the current file, -1 for none. Writer thread only. */
+    private static int externalSchemasInFile = -1;
+
+    private record ExternalSchema(String type, byte[] data) {}
+
     private USBFileLogger() {}
 
     public static void start() {
         // Initialize the relative time clock so all log timestamps start near 0
         TimeUtils.initialize();
-        LOG.info("Config: maxFileAgeMs={}, flushEntryThreshold={}, flushTimeThresholdMs={}",
-                maxFileAgeMs, flushEntryThreshold, flushTimeThresholdMs);
+        LOG.info("Config: maxFileAgeMs={}, flushMode={}, flushEntryThreshold={}, flushTimeThresholdMs={}, writeQueueCapacity={}",
+                maxFileAgeMs, LoggerConfig.getString("logger.flushMode", "adaptive"), flushEntryThreshold,
+                flushTimeThresholdMs, writes.capacity());
         Thread t = new Thread(USBFileLogger::run, "file-logger");
         t.setDaemon(true);
-        rotationThread = t;
+        writerThread = t;
         t.start();
     }
 
     public static void stop() {
         running = false;
-        Thread t = rotationThread;
+        Thread t = writerThread;
         if (t != null) {
             t.interrupt();
         }
     }
 
-    public static void logDouble(String name, double value, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "double", "", timestampUs));
-            dataLog.appendDouble(entryId, value, timestampUs);
-            recordWriteAndMaybeFlush();
+    /** The file being written, or {@code null} before the first one is open. */
+    static Path currentFilePath() {
+        File file = currentFile;
+        return file == null ? null : file.toPath();
+    }
+
+    /** Appends queued for the writer thread but not yet written. */
+    public static int getPendingWrites() {
+        return writes.size();
+    }
+
+    /** Appends dropped because the writer thread had fallen a full queue behind. */
+    public static long getDroppedWrites() {
+        return droppedWrites.get();
+    }
+
+    /** Appends the writer currently lets accumulate before flushing. */
+    public static int getFlushEntryThreshold() {
+        return flushes.entryThreshold();
+    }
+
+    /** Longest the writer currently lets appends sit unflushed, i.e. the data at risk. */
+    public static long getFlushIntervalMs() {
+        return flushes.intervalMs();
+    }
+
+    /** Duration of each flush of the current file. */
+    public static StageMetrics getFlushMetrics() {
+        return flushMetrics;
+    }
+
+    /**
+     * Registers a channel and returns a handle for the handle-based {@code logX} overloads.
+     * Registering the same name again returns the existing handle. Returns -1 if the name
+     * is already registered with a different type; writes of this type to the name are
+     * then dropped. Callers on hot paths should resolve the handle once and cache it.
+     */
+    public static int registerChannel(String name, String type) {
+        return registerChannel(name, type, null);
+    }
+
+    /**
+     * Adds a schema (e.g. {@code struct:Pose2d} with type {@code structschema}) for channels
+     * registered with {@link #registerChannel} under that type string. It is written to the
+     * current file and every later one; registering the same bytes again is a no-op.
+     */
+    public static void registerSchema(String name, String type, byte[] schema) {
+        if (name == null || type == null || schema == null) return;
+        ExternalSchema previous = externalSchemas.put(name, new ExternalSchema(type, schema));
+        if (previous == null || !previous.type().equals(type) || !Arrays.equals(previous.data(), schema)) {
+            externalSchemaVersion.incrementAndGet();
         }
     }
 
-    public static void logInteger(String name, long value, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "int64", "", timestampUs));
-            dataLog.appendInteger(entryId, value, timestampUs);
-            recordWriteAndMaybeFlush();
+    /** Like {@link #registerChannel}, for a channel logged with {@link #logStruct}. */
+    public static <T> int registerStructChannel(String name, Struct<T> struct) {
+        if (struct == null) return NO_HANDLE;
+        return registerChannel(name, struct.getTypeString(), struct);
+    }
+
+    /** Like {@link #registerChannel}, for a channel logged with {@link #logStructArray(int, Object[], long)}. */
+    public static <T> int registerStructArrayChannel(String name, Struct<T> elementStruct) {
+        if (elementStruct == null) return NO_HANDLE;
+        return registerChannel(name, elementStruct.getTypeString() + "[]", elementStruct);
+    }
+
+    /**
+     * Like {@link #registerStructChannel}, for a channel logged with {@link #logRaw(int, byte[], long)}
+     * from bytes already packed with {@code struct} (e.g. straight off NetworkTables), so they are
+     * written as-is instead of being unpacked and packed again. The schema is added to each file.
+     */
+    public static int registerRawStructChannel(String name, Struct<?> struct) {
+        if (struct == null) return NO_HANDLE;
+        return registerChannel(name, struct.getTypeString(), struct);
+    }
+
+    /** Like {@link #registerRawStructChannel}, for bytes holding an array of {@code elementStruct}. */
+    public static int registerRawStructArrayChannel(String name, Struct<?> elementStruct) {
+        if (elementStruct == null) return NO_HANDLE;
+        return registerChannel(name, elementStruct.getTypeString() + "[]", elementStruct);
+    }
+
+    private static int registerChannel(String name, String type, Struct<?> struct) {
+        int handle = registry.resolve(name, type, struct);
+        if (handle == NO_HANDLE) {
+            LOG.warn("Channel {} already registered as {}; ignoring type {}", name, registry.typeOf(name), type);
         }
+        return handle;
+    }
+
+    public static void logDouble(int handle, double value, long timestampUs) {
+        enqueue(Kind.DOUBLE, handle, Double.doubleToRawLongBits(value), null, timestampUs);
+    }
+
+    public static void logInteger(int handle, long value, long timestampUs) {
+        enqueue(Kind.INTEGER, handle, value, null, timestampUs);
+    }
+
+    public static void logBoolean(int handle, boolean value, long timestampUs) {
+        enqueue(Kind.BOOLEAN, handle, value ? 1 : 0, null, timestampUs);
+    }
+
+    public static void logString(int handle, String value, long timestampUs) {
+        enqueue(Kind.STRING, handle, 0, value, timestampUs);
+    }
+
+    public static void logRaw(int handle, byte[] value, long timestampUs) {
+        enqueue(Kind.RAW, handle, 0, value, timestampUs);
+    }
+
+    public static void logBooleanArray(int handle, boolean[] values, long timestampUs) {
+        enqueue(Kind.BOOLEAN_ARRAY, handle, 0, values, timestampUs);
+    }
+
+    public static void logDoubleArray(int handle, double[] values, long timestampUs) {
+        enqueue(Kind.DOUBLE_ARRAY, handle, 0, values, timestampUs);
+    }
+
+    public static void logIntegerArray(int handle, long[] values, long timestampUs) {
+        enqueue(Kind.INTEGER_ARRAY, handle, 0, values, timestampUs);
+    }
+
+    public static void logFloatArray(int handle, float[] values, long timestampUs) {
+        enqueue(Kind.FLOAT_ARRAY, handle, 0, values, timestampUs);
+    }
+
+    public static void logDouble(String name, double value, long timestampUs) {
+        enqueue(Kind.DOUBLE, handleFor(name, Kind.DOUBLE.dataLogType, null), Double.doubleToRawLongBits(value), null, timestampUs);
+    }
+
+    public static void logInteger(String name, long value, long timestampUs) {
+        enqueue(Kind.INTEGER, handleFor(name, Kind.INTEGER.dataLogType, null), value, null, timestampUs);
     }
 
     public static void logBoolean(String name, boolean value, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "boolean", "", timestampUs));
-            dataLog.appendBoolean(entryId, value, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        enqueue(Kind.BOOLEAN, handleFor(name, Kind.BOOLEAN.dataLogType, null), value ? 1 : 0, null, timestampUs);
     }
 
     public static void logString(String name, String value, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "string", "", timestampUs));
-            dataLog.appendString(entryId, value, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        enqueue(Kind.STRING, handleFor(name, Kind.STRING.dataLogType, null), 0, value, timestampUs);
     }
 
     public static void logBooleanArray(String name, boolean[] values, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "boolean[]", "", timestampUs));
-            dataLog.appendBooleanArray(entryId, values, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        enqueue(Kind.BOOLEAN_ARRAY, handleFor(name, Kind.BOOLEAN_ARRAY.dataLogType, null), 0, values, timestampUs);
     }
 
     public static void logDoubleArray(String name, double[] values, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "double[]", "", timestampUs));
-            dataLog.appendDoubleArray(entryId, values, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        enqueue(Kind.DOUBLE_ARRAY, handleFor(name, Kind.DOUBLE_ARRAY.dataLogType, null), 0, values, timestampUs);
     }
 
     public static void logIntegerArray(String name, long[] values, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "int64[]", "", timestampUs));
-            dataLog.appendIntegerArray(entryId, values, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        enqueue(Kind.INTEGER_ARRAY, handleFor(name, Kind.INTEGER_ARRAY.dataLogType, null), 0, values, timestampUs);
     }
 
     public static void logFloatArray(String name, float[] values, long timestampUs) {
-        if (dataLog == null) return;
-        synchronized (entryIds) {
-            int entryId = entryIds.computeIfAbsent(name, k -> dataLog.start(k, "float[]", "", timestampUs));
-            dataLog.appendFloatArray(entryId, values, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        enqueue(Kind.FLOAT_ARRAY, handleFor(name, Kind.FLOAT_ARRAY.dataLogType, null), 0, values, timestampUs);
+    }
+
+    public static void logRaw(String name, byte[] value, long timestampUs) {
+        enqueue(Kind.RAW, handleFor(name, Kind.RAW.dataLogType, null), 0, value, timestampUs);
     }
 
     public static <T> void logStructEntry(String name, T value, Struct<T> struct) {
@@ -159,90 +369,501 @@ public final class USBFileLogger {
     }
 
     public static <T> void logStructEntry(String name, T value, Struct<T> struct, long timestampUs) {
-        if (dataLog == null || value == null || struct == null) return;
-        synchronized (structEntries) {
-            @SuppressWarnings("unchecked")
-            StructLogEntry<T> entry = (StructLogEntry<T>) structEntries.computeIfAbsent(
-                name, k -> StructLogEntry.create(dataLog, k, struct, timestampUs)
-            );
-            entry.append(value, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        if (value == null || struct == null) return;
+        enqueue(Kind.STRUCT, handleFor(name, struct.getTypeString(), struct), 0, value, timestampUs);
     }
 
     public static <T> void logStructArray(String name, T[] values, Struct<T> elementStruct, long timestampUs) {
-        if (dataLog == null || values == null) return;
-        synchronized (structArrayEntries) {
-            @SuppressWarnings("unchecked")
-            StructArrayLogEntry<T> entry = (StructArrayLogEntry<T>) structArrayEntries.computeIfAbsent(
-                name, k -> StructArrayLogEntry.create(dataLog, k, elementStruct, timestampUs)
-            );
-            entry.append(values, timestampUs);
-            recordWriteAndMaybeFlush();
-        }
+        if (values == null || elementStruct == null) return;
+        enqueue(Kind.STRUCT_ARRAY, handleFor(name, elementStruct.getTypeString() + "[]", elementStruct), 0, values, timestampUs);
+    }
+
+    /** Appends to a channel from {@link #registerStructChannel}. */
+    public static <T> void logStruct(int handle, T value, long timestampUs) {
+        if (value == null) return;
+        enqueue(Kind.STRUCT, handle, 0, value, timestampUs);
+    }
+
+    /** Appends to a channel from {@link #registerStructArrayChannel}. */
+    public static <T> void logStructArray(int handle, T[] values, long timestampUs) {
+        if (values == null) return;
+        enqueue(Kind.STRUCT_ARRAY, handle, 0, values, timestampUs);
     }
 
     /**
-     * Flush the log to disk
+     * Asks the writer thread to flush once it has written everything queued so far,
+     * regardless of the flush thresholds.
      */
     public static void flush() {
-        DataLogWriter log = dataLog;
-        if (log != null) {
-            synchronized (flushLock) {
-                try {
-                    log.flush();
-                } catch (Exception e) {
-                    LOG.error("flush failed: {}", e.getMessage());
-                }
-                writesSinceFlush = 0;
-                lastFlushTimeMs = System.currentTimeMillis();
+        flushRequested = true;
+    }
+
+    /** Handle for a by-name write, or -1 (and a one-time warning) if the name is taken by another type. */
+    private static int handleFor(String name, String type, Struct<?> struct) {
+        int handle = registry.resolve(name, type, struct);
+        if (handle == NO_HANDLE && registry.firstConflict(name)) {
+            LOG.warn("Channel {} is registered as {}; dropping writes of type {}", name, registry.typeOf(name), type);
+        }
+        return handle;
+    }
+
+    private static void enqueue(Kind kind, int handle, long bits, Object value, long timestampUs) {
+        if (dataLog == null || handle == NO_HANDLE) return;
+        long sequence = writes.tryClaim();
+        if (sequence == MpscRingBuffer.FULL) {
+            long dropped = droppedWrites.incrementAndGet();
+            if (dropped == 1 || dropped % 1000 == 0) {
+                LOG.warn("USB write queue full; dropped {} writes so far", dropped);
             }
+            return;
         }
+        writes.slot(sequence).set(kind, handle, bits, value, timestampUs);
+        writes.publish(sequence);
     }
 
     private static void run() {
+        long next = 0;
         try {
             Files.createDirectories(LOG_DIR.toPath());
+            removeStaleSpares();
+            if (journalEnabled) {
+                openJournal();
+            }
+            LogCompressor.submitExisting(LOG_DIR);
             openNewFile();
+            prepareSpareFile();
 
             while (running) {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    break;
+                if (externalSchemasInFile != externalSchemaVersion.get()) {
+                    writeExternalSchemas();
+                }
+                int drained = 0;
+                while (writes.isPublished(next)) {
+                    next = writeOne(next);
+                    drained++;
+                }
+                writesSinceFlush += drained;
+
+                long now = System.currentTimeMillis();
+                if (flushRequested || flushes.shouldFlush(writesSinceFlush, now - lastFlushTimeMs)) {
+                    flushNow(false);
+                }
+                if (journal != null && journalRecordsSinceSync > 0 && now >= nextJournalSyncMs) {
+                    nextJournalSyncMs = now + journalSyncMs;
+                    journalRecordsSinceSync = 0;
+                    WriteJournal j = journal;
+                    fileOps.execute(j::force);
+                }
+                if (journal != null) {
+                    retireSyncedEpoch(false);
+                }
+                if (now >= nextSegmentCheckMs) {
+                    nextSegmentCheckMs = now + SEGMENT_CHECK_INTERVAL_MS;
+                    flushes.robotEnabled(MatchInfoListener.isEnabled());
+                    checkSegment(now);
                 }
-                if (shouldRotate()) {
-                    rotate();
+                if (drained == 0) {
+                    LockSupport.parkNanos(WRITER_IDLE_NANOS);
                 }
             }
+            // Write out whatever was queued before stop().
+            while (writes.isPublished(next)) {
+                next = writeOne(next);
+            }
         } catch (Exception e) {
             LOG.error("FileLogger error", e);
         } finally {
-            closeQuietly();
+            closeQuietly(dataLog);
+            discardSpareFile();
+            fileOps.shutdown();
+            boolean filesDone = false;
+            try {
+                // Let a background close of the previous file finish.
+                filesDone = fileOps.awaitTermination(2, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            if (journal != null && filesDone && syncQuietly(currentFile)) {
+                // Everything is on disk now; nothing to recover next time.
+                journal.reset();
+            }
+            closeJournal();
+        }
+    }
+
+    /** Appends the queued write at {@code sequence}, returns its slot to producers and returns the next sequence. */
+    private static long writeOne(long sequence) {
+        PendingWrite write = writes.slot(sequence);
+        try {
+            append(write);
+            bytesInFile += RECORD_OVERHEAD_BYTES + payloadBytes(write);
+            if (journal != null && !journal(write)) {
+                // Journal full: flush so the epoch can end, waiting on the previous fsync if need be,
+                // and keep this write in the new epoch until the file is synced.
+                flushNow(true);
+                journal(write);
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to append {}: {}", registry.get(write.handle).name, e.getMessage());
+        }
+        write.clear();
+        writes.release(sequence);
+        return sequence + 1;
+    }
+
+    /** Approximate encoded payload size of a queued write (strings counted as one byte per char). */
+    private static long payloadBytes(PendingWrite w) {
+        return switch (w.kind) {
+            case DOUBLE, INTEGER -> 8;
+            case BOOLEAN -> 1;
+            case STRING -> ((String) w.value).length();
+            case RAW -> ((byte[]) w.value).length;
+            case BOOLEAN_ARRAY -> ((boolean[]) w.value).length;
+            case DOUBLE_ARRAY -> 8L * ((double[]) w.value).length;
+            case INTEGER_ARRAY -> 8L * ((long[]) w.value).length;
+            case FLOAT_ARRAY -> 4L * ((float[]) w.value).length;
+            case STRUCT -> registry.get(w.handle).struct.getSize();
+            case STRUCT_ARRAY -> (long) registry.get(w.handle).struct.getSize() * ((Object[]) w.value).length;
+        };
+    }
+
+    /** Copies an appended write into the journal; returns false if it did not fit. */
+    @SuppressWarnings("unchecked")
+    private static boolean journal(PendingWrite w) {
+        ChannelRegistry.Channel channel = registry.get(w.handle);
+        if (!journal.isDefined(w.handle)) {
+            if (channel.struct != null && !journalSchema(channel.struct)) {
+                return false;
+            }
+            if (channel.struct == null && channel.type.startsWith("struct:") && !journalExternalSchemas()) {
+                return false;
+            }
+            if (!journal.define(w.handle, channel.name, channel.type)) {
+                return false;
+            }
+        }
+        byte[] text = w.kind == Kind.STRING ? ((String) w.value).getBytes(StandardCharsets.UTF_8) : null;
+        ByteBuffer out = journal.beginData(w.handle, w.timestampUs, text != null ? text.length : (int) payloadBytes(w));
+        if (out == null) {
+            return false;
+        }
+        switch (w.kind) {
+            case DOUBLE, INTEGER -> out.putLong(w.bits);
+            case BOOLEAN -> out.put((byte) (w.bits != 0 ? 1 : 0));
+            case STRING -> out.put(text);
+            case RAW -> out.put((byte[]) w.value);
+            case BOOLEAN_ARRAY -> {
+                for (boolean value : (boolean[]) w.value) {
+                    out.put((byte) (value ? 1 : 0));
+                }
+            }
+            case DOUBLE_ARRAY -> {
+                for (double value : (double[]) w.value) {
+                    out.putDouble(value);
+                }
+            }
+            case INTEGER_ARRAY -> {
+                for (long value : (long[]) w.value) {
+                    out.putLong(value);
+                }
+            }
+            case FLOAT_ARRAY -> {
+                for (float value : (float[]) w.value) {
+                    out.putFloat(value);
+                }
+            }
+            case STRUCT -> ((Struct<Object>) channel.struct).pack(out, w.value);
+            case STRUCT_ARRAY -> {
+                for (Object value : (Object[]) w.value) {
+                    ((Struct<Object>) channel.struct).pack(out, value);
+                }
+            }
+        }
+        journal.commit();
+        journalRecordsSinceSync++;
+        return true;
+    }
+
+    /** Records a struct's schema and those of its nested structs, as {@code DataLog.addSchema} does. */
+    private static boolean journalSchema(Struct<?> struct) {
+        for (Struct<?> nested : struct.getNested()) {
+            if (!journalSchema(nested)) {
+                return false;
+            }
         }
+        return journal.defineSchema(struct.getTypeString(), struct.getSchema());
     }
 
-    private static boolean shouldRotate() {
-        long age = System.currentTimeMillis() - fileStartTime;
-        return age >= maxFileAgeMs;
+    /**
+     * Records every registered struct schema, nested ones included, since a channel's
+     * type string doesn't say which it depends on.
+     */
+    private static boolean journalExternalSchemas() {
+        for (Map.Entry<String, ExternalSchema> schema : externalSchemas.entrySet()) {
+            if ("structschema".equals(schema.getValue().type()) && !journal.defineSchema(
+                    schema.getKey(), new String(schema.getValue().data(), StandardCharsets.UTF_8))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Adds registered schemas the current file doesn't have yet. Writer thread only. */
+    private static void writeExternalSchemas() {
+        DataLogWriter log = dataLog;
+        if (log == null) {
+            return;
+        }
+        externalSchemasInFile = externalSchemaVersion.get();
+        for (Map.Entry<String, ExternalSchema> schema : externalSchemas.entrySet()) {
+            try {
+                if (!log.hasSchema(schema.getKey())) {
+                    log.addSchema(schema.getKey(), schema.getValue().type(), schema.getValue().data(), 0);
+                }
+            } catch (Exception e) {
+                LOG.warn("Could not add schema {}: {}", schema.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void append(PendingWrite w) {
+        DataLogWriter log = dataLog;
+        if (log == null) {
+            return;
+        }
+        switch (w.kind) {
+            case DOUBLE -> log.appendDouble(entryId(w), Double.longBitsToDouble(w.bits), w.timestampUs);
+            case INTEGER -> log.appendInteger(entryId(w), w.bits, w.timestampUs);
+            case BOOLEAN -> log.appendBoolean(entryId(w), w.bits != 0, w.timestampUs);
+            case STRING -> log.appendString(entryId(w), (String) w.value, w.timestampUs);
+            case RAW -> log.appendRaw(entryId(w), (byte[]) w.value, w.timestampUs);
+            case BOOLEAN_ARRAY -> log.appendBooleanArray(entryId(w), (boolean[]) w.value, w.timestampUs);
+            case DOUBLE_ARRAY -> log.appendDoubleArray(entryId(w), (double[]) w.value, w.timestampUs);
+            case INTEGER_ARRAY -> log.appendIntegerArray(entryId(w), (long[]) w.value, w.timestampUs);
+            case FLOAT_ARRAY -> log.appendFloatArray(entryId(w), (float[]) w.value, w.timestampUs);
+            case STRUCT -> structEntry(w.handle, w.timestampUs).append(w.value, w.timestampUs);
+            case STRUCT_ARRAY -> structArrayEntry(w.handle, w.timestampUs).append((Object[]) w.value, w.timestampUs);
+        }
+    }
+
+    /** Entry ID in the current file for a handle, starting the entry on first use. Writer thread only. */
+    private static int entryId(PendingWrite w) {
+        int handle = w.handle;
+        ensureCapacity(handle);
+        int entryId = entryIds[handle];
+        if (entryId < 0) {
+            ChannelRegistry.Channel channel = registry.get(handle);
+            if (channel.struct != null) {
+                // Raw struct bytes; StructLogEntry would otherwise have added the schema.
+                dataLog.addSchema(channel.struct, w.timestampUs);
+            }
+            entryId = dataLog.start(channel.name, channel.type, "", w.timestampUs);
+            entryIds[handle] = entryId;
+        }
+        return entryId;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StructLogEntry<Object> structEntry(int handle, long timestampUs) {
+        ensureCapacity(handle);
+        StructLogEntry<?> entry = structEntries[handle];
+        if (entry == null) {
+            ChannelRegistry.Channel channel = registry.get(handle);
+            entry = StructLogEntry.create(dataLog, channel.name, (Struct<Object>) channel.struct, timestampUs);
+            structEntries[handle] = entry;
+        }
+        return (StructLogEntry<Object>) entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StructArrayLogEntry<Object> structArrayEntry(int handle, long timestampUs) {
+        ensureCapacity(handle);
+        StructArrayLogEntry<?> entry = structArrayEntries[handle];
+        if (entry == null) {
+            ChannelRegistry.Channel channel = registry.get(handle);
+            entry = StructArrayLogEntry.create(dataLog, channel.name, (Struct<Object>) channel.struct, timestampUs);
+            structArrayEntries[handle] = entry;
+        }
+        return (StructArrayLogEntry<Object>) entry;
+    }
+
+    private static void ensureCapacity(int handle) {
+        if (handle < entryIds.length) {
+            return;
+        }
+        int oldLength = entryIds.length;
+        int capacity = Math.max(64, handle * 2);
+        entryIds = Arrays.copyOf(entryIds, capacity);
+        Arrays.fill(entryIds, oldLength, capacity, -1);
+        structEntries = Arrays.copyOf(structEntries, capacity);
+        structArrayEntries = Arrays.copyOf(structArrayEntries, capacity);
+    }
+
+    /**
+     * Flushes the current file and, with the journal on, moves it to a new epoch; see
+     * {@link #advanceJournal}. {@code waitForSync} is passed on.
+     */
+    private static void flushNow(boolean waitForSync) {
+        flushRequested = false;
+        DataLogWriter log = dataLog;
+        if (log != null) {
+            long start = System.nanoTime();
+            try {
+                log.flush();
+            } catch (Exception e) {
+                LOG.error("flush failed: {}", e.getMessage());
+            }
+            long nanos = System.nanoTime() - start;
+            flushMetrics.record(nanos);
+            flushes.flushed(nanos);
+        }
+        if (journal != null) {
+            advanceJournal(waitForSync);
+        }
+        writesSinceFlush = 0;
+        lastFlushTimeMs = System.currentTimeMillis();
+    }
+
+    /**
+     * Starts a new journal epoch and an fsync of the current file in the background; a
+     * flush alone only moves the records into the page cache, so the ended epoch is
+     * retired only once the fsync is done. The fsync runs on {@code fileOps} behind any
+     * close of a rotated-out file, so it also covers that file's last records. While the
+     * previous fsync is still running, the current epoch carries on and the next flush
+     * tries again, unless {@code waitForSync} says to wait for it (the journal is full).
+     */
+    private static void advanceJournal(boolean waitForSync) {
+        retireSyncedEpoch(waitForSync);
+        if (!journal.canAdvance()) {
+            return;
+        }
+        int ended = journal.advance();
+        File file = currentFile;
+        journalFileSync = fileOps.submit(() -> {
+            syncQuietly(file);
+            return ended;
+        });
+    }
+
+    /** Retires the journal epoch covered by a finished fsync, optionally waiting for it to finish. */
+    private static void retireSyncedEpoch(boolean wait) {
+        Future<Integer> sync = journalFileSync;
+        if (sync == null || (!wait && !sync.isDone())) {
+            return;
+        }
+        journalFileSync = null;
+        try {
+            journal.retire(sync.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LOG.warn("Log file sync failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Forces a log file's data to storage; true if it worked. A failure (e.g. the stick
+     * was pulled) is logged, and the journal epoch it covered is still retired, since
+     * nothing more can be done for that file.
+     */
+    private static boolean syncQuietly(File file) {
+        if (file == null) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+            return true;
+        } catch (IOException e) {
+            LOG.warn("Could not sync {}: {}", file.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    /** Asks the segment policy whether a new file is due and starts it once the spare is ready. */
+    private static void checkSegment(long now) {
+        boolean fmsAttached = MatchInfoListener.isFmsAttached();
+        boolean enabled = MatchInfoListener.isEnabled();
+        String tag = segments.evaluate(now, bytesInFile, fmsAttached, enabled,
+                fmsAttached && enabled ? FfmpegUtils.matchFileTag() : LogSegmentPolicy.NO_MATCH);
+        if (tag != null) {
+            pendingSegment = tag;
+        }
+        if (pendingSegment != null && rotate(pendingSegment, now)) {
+            pendingSegment = null;
+        }
+    }
+
+    /** Starts opening the next spare file off the writer thread. */
+    private static void prepareSpareFile() {
+        File file = new File(LOG_DIR, SPARE_PREFIX + (spareCounter++) + ".wpilog");
+        spareFile = fileOps.submit(() -> new PreparedFile(file, new DataLogWriter(file.getAbsolutePath())));
     }
 
-    private static void rotate() {
-        closeQuietly();
+    /**
+     * Switches appends to the pre-opened spare file, so the swap itself does no I/O.
+     * Entries are re-declared lazily on the new file as each channel is next written.
+     * Closing the old file (and flushing its last batch) and renaming the spare to
+     * its real name happen in the background. Returns {@code false} if the spare
+     * isn't ready yet; the writer keeps appending to the current file and retries,
+     * so rotation never blocks or loses a record.
+     */
+    private static boolean rotate(String matchTag, long now) {
+        if (spareFile == null) {
+            prepareSpareFile();
+        }
+        if (!spareFile.isDone()) {
+            return false;
+        }
+        PreparedFile spare;
+        try {
+            spare = spareFile.get();
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            LOG.error("Failed to open next log file; staying on {}: {}",
+                    currentFile != null ? currentFile.getName() : "(none)", cause.getMessage());
+            spareFile = null;
+            nextSegmentCheckMs = now + SPARE_RETRY_MS;
+            return false;
+        }
+
+        DataLogWriter previous = dataLog;
+        File previousFile = currentFile;
+        File target = new File(LOG_DIR, fileName(matchTag, now));
+        dataLog = spare.log();
+        currentFile = target;
+        bytesInFile = 0;
+        writesSinceFlush = 0;
+        lastFlushTimeMs = now;
         clearEntryCache();
-        openNewFile();
+        fileOps.execute(() -> {
+            closeQuietly(previous);
+            syncQuietly(previousFile);
+            if (previousFile != null) {
+                LogCompressor.submit(previousFile.toPath());
+            }
+            try {
+                Files.move(spare.file().toPath(), target.toPath());
+            } catch (Exception e) {
+                LOG.error("Failed to rename {} to {}: {}", spare.file().getName(), target.getName(), e.getMessage());
+            }
+        });
+        prepareSpareFile();
+        LOG.info("Logging to {}", target.getName());
+        return true;
     }
 
     private static void openNewFile() {
         try {
-            String name = "udp_" + timestamp() + ".wpilog";
-            currentFile = new File(LOG_DIR, name);
+            long now = System.currentTimeMillis();
+            currentFile = new File(LOG_DIR, fileName(LogSegmentPolicy.NO_MATCH, now));
 
             dataLog = new DataLogWriter(currentFile.getAbsolutePath());
-            resetFlushState();
-
-            fileStartTime = System.currentTimeMillis();
+            externalSchemasInFile = -1;
+            bytesInFile = 0;
+            writesSinceFlush = 0;
+            lastFlushTimeMs = now;
+            segments.started(now);
 
             LOG.info("Logging to {}", currentFile.getName());
         } catch (Exception e) {
@@ -250,55 +871,180 @@ public final class USBFileLogger {
         }
     }
 
-    private static void clearEntryCache() {
-        entryIds.clear();
-        structEntries.clear();
-        structArrayEntries.clear();
+    /**
+     * Log file name, {@code udp_<yyyyMMdd_HHmmss>.wpilog}, with the match tag in front
+     * of the time for match files, as {@link FfmpegUtils#buildOutputPath} does for video.
+     */
+    private static String fileName(String matchTag, long timeMs) {
+        String time = timestamp(Instant.ofEpochMilli(timeMs));
+        return matchTag.isEmpty() ? "udp_" + time + ".wpilog" : "udp_" + matchTag + "_" + time + ".wpilog";
     }
 
-    private static void closeQuietly() {
+    /** Closes and deletes the spare file, which never received any records. */
+    private static void discardSpareFile() {
+        Future<PreparedFile> pending = spareFile;
+        spareFile = null;
+        if (pending == null) {
+            return;
+        }
         try {
-            if (dataLog != null) {
-                flush();
-                dataLog.close();
-            }
-        } catch (Exception ignored) {}
+            PreparedFile spare = pending.get(1, TimeUnit.SECONDS);
+            closeQuietly(spare.log());
+            Files.deleteIfExists(spare.file().toPath());
+        } catch (Exception e) {
+            LOG.warn("Could not discard spare log file: {}", e.getMessage());
+        }
     }
 
-    private static void recordWriteAndMaybeFlush() {
-        DataLogWriter log = dataLog;
-        if (log == null) {
+    /**
+     * Cleans up spare files left behind by an unclean shutdown. Header-only spares are
+     * deleted. A spare that was already swapped in but not yet renamed holds records, so
+     * it is renamed to {@code udp_orphan_<mtime>.wpilog} and then compressed and retained
+     * like any other log.
+     */
+    private static void removeStaleSpares() {
+        File[] stale = LOG_DIR.listFiles((dir, name) -> name.startsWith(SPARE_PREFIX));
+        if (stale == null) {
             return;
         }
+        for (File file : stale) {
+            long bytes = file.length();
+            if (bytes <= STALE_SPARE_MAX_BYTES) {
+                if (!file.delete()) {
+                    LOG.warn("Could not remove stale spare log file {}", file.getName());
+                }
+                continue;
+            }
+            try {
+                String time = timestamp(Instant.ofEpochMilli(file.lastModified()));
+                File orphan = new File(LOG_DIR, "udp_orphan_" + time + ".wpilog");
+                for (int i = 1; orphan.exists(); i++) {
+                    orphan = new File(LOG_DIR, "udp_orphan_" + time + "_" + i + ".wpilog");
+                }
+                Files.move(file.toPath(), orphan.toPath());
+                LOG.warn("Kept {} bytes from the last run's unrenamed log file as {}", bytes, orphan.getName());
+            } catch (Exception e) {
+                LOG.error("Could not keep stale spare log file {}: {}", file.getName(), e.getMessage());
+            }
+        }
+    }
 
-        synchronized (flushLock) {
-            writesSinceFlush++;
-            long now = System.currentTimeMillis();
-            if (writesSinceFlush >= flushEntryThreshold ||
-                    (now - lastFlushTimeMs) >= flushTimeThresholdMs) {
+    /**
+     * Recovers the previous run's unflushed records into {@code udp_recovered_<time>.wpilog},
+     * then opens the journal for this run. Logging continues without it if either fails.
+     */
+    private static void openJournal() {
+        Path path = new File(LOG_DIR, WriteJournal.FILE_NAME).toPath();
+        if (Files.exists(path)) {
+            try {
+                File recovered = new File(LOG_DIR, "udp_recovered_"
+                        + timestamp(Files.getLastModifiedTime(path).toInstant()) + ".wpilog");
+                DataLogWriter out = new DataLogWriter(recovered.getAbsolutePath());
+                int records;
                 try {
-                    log.flush();
-                } catch (Exception e) {
-                    LOG.error("flush failed: {}", e.getMessage());
+                    records = WriteJournal.replay(path, out);
+                } finally {
+                    closeQuietly(out);
+                }
+                if (records > 0) {
+                    LOG.warn("Recovered {} unflushed records from the last run into {}", records, recovered.getName());
+                } else {
+                    Files.deleteIfExists(recovered.toPath());
                 }
-                writesSinceFlush = 0;
-                lastFlushTimeMs = now;
+            } catch (Exception e) {
+                LOG.error("Journal recovery failed: {}", e.getMessage());
             }
         }
+        try {
+            journal = WriteJournal.open(path, journalBytes);
+            LOG.info("Write journal: {} bytes, synced every {} ms", journalBytes, journalSyncMs);
+        } catch (Exception e) {
+            LOG.error("Could not open write journal; continuing without it: {}", e.getMessage());
+        }
     }
 
-    private static void resetFlushState() {
-        synchronized (flushLock) {
-            writesSinceFlush = 0;
-            lastFlushTimeMs = System.currentTimeMillis();
+    private static void closeJournal() {
+        WriteJournal j = journal;
+        journal = null;
+        if (j == null) {
+            return;
         }
+        try {
+            j.force();
+            j.close();
+        } catch (Exception e) {
+            LOG.warn("Could not close write journal: {}", e.getMessage());
+        }
+    }
+
+    private static void clearEntryCache() {
+        externalSchemasInFile = -1;
+        Arrays.fill(entryIds, -1);
+        Arrays.fill(structEntries, null);
+        Arrays.fill(structArrayEntries, null);
     }
 
-    private static String timestamp() {
+    /** Flushes and closes {@code log}; safe to call from the background file thread. */
+    private static void closeQuietly(DataLogWriter log) {
+        try {
+            if (log != null) {
+                log.flush();
+                log.close();
+            }
+        } catch (Exception e) {
+            LOG.error("close failed: {}", e.getMessage());
+        }
+    }
+
+    private static String timestamp(Instant instant) {
         return DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")
                 .withZone(ZoneId.systemDefault())
-                .format(Instant.now());
+                .format(instant);
     }
 
-}
+    private record PreparedFile(File file, DataLogWriter log) {}
+
+    /** What a queued write appends, with the WPILOG type used when a by-name write registers its channel. */
+    private enum Kind {
+        DOUBLE("double"),
+        INTEGER("int64"),
+        BOOLEAN("boolean"),
+        STRING("string"),
+        RAW("raw"),
+        BOOLEAN_ARRAY("boolean[]"),
+        DOUBLE_ARRAY("double[]"),
+        INTEGER_ARRAY("int64[]"),
+        FLOAT_ARRAY("float[]"),
+        STRUCT(null),
+        STRUCT_ARRAY(null);
+
+        final String dataLogType;
+
+        Kind(String dataLogType) {
+            this.dataLogType = dataLogType;
+        }
+    }
+
+    /** One queued append; slots are reused, so scalars travel as raw bits rather than boxed. */
+    private static final class PendingWrite {
+        Kind kind;
+        int handle;
+        long bits;
+        Object value;
+        long timestampUs;
+
+        void set(Kind kind, int handle, long bits, Object value, long timestampUs) {
+            this.kind = kind;
+            this.handle = handle;
+            this.bits = bits;
+            this.value = value;
+            this.timestampUs = timestampUs;
+        }
 
+        /** Drops the payload reference so a consumed slot doesn't keep it alive. */
+        void clear() {
+            value = null;
+        }
+    }
+
+}
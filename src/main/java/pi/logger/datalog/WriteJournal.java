@@ -0,0 +1,349 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import edu.wpi.first.util.datalog.DataLog;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fixed-size memory-mapped journal of the records appended to the log file that
+ * are not yet known to be on disk.
+ *
+ * <p>{@link USBFileLogger} copies every appended record here. Because the journal
+ * is a mapping of a file, the records are in the kernel page cache as soon as they
+ * are written, so they survive the JVM dying, and periodic {@link #force()} calls
+ * also get them through a power loss. Flushing the log file only moves its records
+ * into the page cache too, so they stay journaled until the file has been fsynced.
+ *
+ * <p>The journal is split into two regions that take turns. At a flush the writer
+ * {@link #advance() advances} to a new epoch in the other region and starts an fsync
+ * of the log file; the ended epoch stays replayable until that fsync is done and it is
+ * {@link #retire retired}. While it is still live the journal can't advance again, and
+ * the current epoch just keeps growing. At the next start {@link #replay} copies every
+ * live epoch, oldest first, into a separate WPILOG file.
+ *
+ * <p>Layout (little-endian): each region starts with a 16-byte header with magic,
+ * version, its epoch and whether that epoch is still live, then records of
+ * {@code [int length][int epoch][byte tag][body]}. The length is written last, so a
+ * record cut short by a crash reads as the end of the region. Records left over from
+ * earlier epochs carry an older epoch and are ignored. Each epoch restates the channel
+ * and struct schema definitions it uses, so it can be replayed on its own.
+ *
+ * <p>Not thread-safe: only the writer thread writes; {@link #force()} may run on another thread.
+ */
+final class WriteJournal implements AutoCloseable {
+
+    static final String FILE_NAME = ".udp_journal";
+
+    private static final int MAGIC = 0x4A504455; // "UDPJ"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final int EPOCH_OFFSET = 8;
+    private static final int LIVE_OFFSET = 12;
+    private static final int REGIONS = 2;
+    /** length, epoch and tag. */
+    private static final int RECORD_HEADER_BYTES = 9;
+
+    private static final byte TAG_SCHEMA = 1;
+    private static final byte TAG_DEFINE = 2;
+    private static final byte TAG_DATA = 3;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapping;
+    /** The region holding the current epoch; positions are relative to its start. */
+    private ByteBuffer buffer;
+    private int region;
+    private int epoch;
+    private int recordStart = -1;
+    /** Epoch in which each handle was last defined. */
+    private int[] definedEpoch = new int[64];
+    private final Set<String> schemas = new HashSet<>();
+
+    private WriteJournal(FileChannel channel, MappedByteBuffer mapping, int epoch) {
+        this.channel = channel;
+        this.mapping = mapping;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Opens (creating or resizing) the journal at {@code file} and starts a new epoch,
+     * discarding whatever it held. Call {@link #replay} first to keep that.
+     */
+    static WriteJournal open(Path file, int sizeBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() != sizeBytes) {
+                channel.truncate(0);
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+            int previousEpoch = 0;
+            for (int i = 0; i < REGIONS; i++) {
+                ByteBuffer header = region(mapping, i);
+                if (header.getInt(0) == MAGIC) {
+                    previousEpoch = Math.max(previousEpoch, header.getInt(EPOCH_OFFSET));
+                }
+            }
+            WriteJournal journal = new WriteJournal(channel, mapping, previousEpoch);
+            journal.reset();
+            return journal;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Retires every epoch and starts a new, empty one; call once the log file is synced and closed. */
+    void reset() {
+        for (int i = 0; i < REGIONS; i++) {
+            region(mapping, i).putInt(LIVE_OFFSET, 0);
+        }
+        start(0);
+    }
+
+    /** Whether {@link #advance()} may be called, i.e. the epoch before the current one is retired. */
+    boolean canAdvance() {
+        return region(mapping, 1 - region).getInt(LIVE_OFFSET) == 0;
+    }
+
+    /**
+     * Ends the current epoch, which stays live until {@link #retire retired}, and starts a
+     * new one in the other region. Call after flushing the log file, then retire the
+     * returned epoch once the file has been synced. Requires {@link #canAdvance()}.
+     */
+    int advance() {
+        if (!canAdvance()) {
+            throw new IllegalStateException("epoch " + (epoch - 1) + " is still live");
+        }
+        int ended = epoch;
+        start(1 - region);
+        return ended;
+    }
+
+    /** Marks an ended epoch's records as on disk, so they are no longer replayed. */
+    void retire(int endedEpoch) {
+        for (int i = 0; i < REGIONS; i++) {
+            ByteBuffer header = region(mapping, i);
+            if (i != region && header.getInt(EPOCH_OFFSET) == endedEpoch) {
+                header.putInt(LIVE_OFFSET, 0);
+            }
+        }
+    }
+
+    private void start(int next) {
+        epoch++;
+        region = next;
+        buffer = region(mapping, next);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(EPOCH_OFFSET, epoch);
+        buffer.putInt(LIVE_OFFSET, 1);
+        buffer.position(HEADER_BYTES);
+        schemas.clear();
+        recordStart = -1;
+    }
+
+    /** Region {@code index} of a journal mapping, as a little-endian buffer of its own. */
+    private static ByteBuffer region(ByteBuffer mapping, int index) {
+        int size = mapping.capacity() / REGIONS;
+        return mapping.duplicate().position(index * size).limit((index + 1) * size)
+                .slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    boolean isDefined(int handle) {
+        return handle < definedEpoch.length && definedEpoch[handle] == epoch;
+    }
+
+    /** Records a struct schema for the current epoch; returns false if the journal is full. */
+    boolean defineSchema(String typeString, String schema) {
+        if (schemas.contains(typeString)) {
+            return true;
+        }
+        byte[] name = typeString.getBytes(StandardCharsets.UTF_8);
+        byte[] text = schema.getBytes(StandardCharsets.UTF_8);
+        if (!begin(TAG_SCHEMA, 8 + name.length + text.length)) {
+            return false;
+        }
+        putBytes(name);
+        putBytes(text);
+        commit();
+        schemas.add(typeString);
+        return true;
+    }
+
+    /** Records a channel's name and WPILOG type for the current epoch; returns false if the journal is full. */
+    boolean define(int handle, String name, String type) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+        if (!begin(TAG_DEFINE, 12 + nameBytes.length + typeBytes.length)) {
+            return false;
+        }
+        buffer.putInt(handle);
+        putBytes(nameBytes);
+        putBytes(typeBytes);
+        commit();
+        if (handle >= definedEpoch.length) {
+            definedEpoch = Arrays.copyOf(definedEpoch, Math.max(handle + 1, definedEpoch.length * 2));
+        }
+        definedEpoch[handle] = epoch;
+        return true;
+    }
+
+    /**
+     * Starts a data record and returns the buffer positioned for exactly
+     * {@code payloadBytes} of WPILOG-encoded payload, or {@code null} if the journal
+     * is full. Finish with {@link #commit()}.
+     */
+    ByteBuffer beginData(int handle, long timestampUs, int payloadBytes) {
+        if (!begin(TAG_DATA, 12 + payloadBytes)) {
+            return null;
+        }
+        buffer.putInt(handle);
+        buffer.putLong(timestampUs);
+        return buffer;
+    }
+
+    /** Makes the record started last visible to {@link #replay}. */
+    void commit() {
+        buffer.putInt(recordStart, buffer.position() - recordStart);
+        recordStart = -1;
+    }
+
+    /** Writes dirty journal pages to storage. */
+    void force() {
+        mapping.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean begin(byte tag, int bodyBytes) {
+        if (recordStart >= 0) {
+            // The previous record was abandoned part way; write over it.
+            buffer.position(recordStart);
+        }
+        int start = buffer.position();
+        if (bodyBytes > buffer.capacity() - start - RECORD_HEADER_BYTES) {
+            return false;
+        }
+        recordStart = start;
+        // Zero length first so a partly written record ends the journal.
+        buffer.putInt(0);
+        buffer.putInt(epoch);
+        buffer.put(tag);
+        return true;
+    }
+
+    private void putBytes(byte[] bytes) {
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Appends the records of the journal's live epochs to {@code out}, oldest first.
+     *
+     * @return the number of data records replayed; 0 if the file is missing, empty or not a journal
+     */
+    static int replay(Path file, DataLog out) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < REGIONS * HEADER_BYTES) {
+            return 0;
+        }
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer[] live = new ByteBuffer[REGIONS];
+        int count = 0;
+        for (int i = 0; i < REGIONS; i++) {
+            ByteBuffer region = region(in, i);
+            if (region.getInt(0) == MAGIC && region.getInt(4) == VERSION && region.getInt(LIVE_OFFSET) != 0) {
+                live[count++] = region;
+            }
+        }
+        Arrays.sort(live, 0, count, (a, b) -> Integer.compare(a.getInt(EPOCH_OFFSET), b.getInt(EPOCH_OFFSET)));
+        int replayed = 0;
+        for (int i = 0; i < count; i++) {
+            replayed += replayEpoch(live[i], out);
+        }
+        return replayed;
+    }
+
+    private static int replayEpoch(ByteBuffer in, DataLog out) {
+        int epoch = in.getInt(EPOCH_OFFSET);
+        Map<Integer, Integer> entries = new HashMap<>();
+        int replayed = 0;
+        int position = HEADER_BYTES;
+        while (position <= in.capacity() - RECORD_HEADER_BYTES) {
+            int length = in.getInt(position);
+            if (length < RECORD_HEADER_BYTES || length > in.capacity() - position
+                    || in.getInt(position + 4) != epoch) {
+                break;
+            }
+            ByteBuffer record = in.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            record.limit(position + length).position(position + RECORD_HEADER_BYTES);
+            switch (in.get(position + 8)) {
+                case TAG_SCHEMA -> {
+                    String name = getString(record);
+                    String schema = getString(record);
+                    if (!out.hasSchema(name)) {
+                        out.addSchema(name, "structschema", schema, 0);
+                    }
+                }
+                case TAG_DEFINE -> {
+                    int handle = record.getInt();
+                    String name = getString(record);
+                    String type = getString(record);
+                    entries.put(handle, out.start(name, type, "", 0));
+                }
+                case TAG_DATA -> {
+                    Integer entry = entries.get(record.getInt());
+                    long timestampUs = record.getLong();
+                    if (entry != null) {
+                        byte[] payload = new byte[record.remaining()];
+                        record.get(payload);
+                        out.appendRaw(entry, payload, timestampUs);
+                        replayed++;
+                    }
+                }
+                default -> {
+                    return replayed;
+                }
+            }
+            position += length;
+        }
+        return replayed;
+    }
+
+    private static String getString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
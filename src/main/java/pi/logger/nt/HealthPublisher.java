@@ -16,6 +16,13 @@ package pi.logger.nt;
 
 import edu.wpi.first.networktables.*;
 import pi.logger.config.LoggerConfig;
+import pi.logger.datalog.LogCompressor;
+import pi.logger.datalog.LogRetentionManager;
+import pi.logger.datalog.USBFileLogger;
+import pi.logger.telemetry.DedupTelemetryStage;
+import pi.logger.telemetry.LatencyHistogram;
+import pi.logger.telemetry.RateLimitTelemetryStage;
+import pi.logger.telemetry.StageMetrics;
 import pi.logger.telemetry.TelemetryProcessor;
 import pi.logger.udp.UdpReceiver;
 
@@ -23,6 +30,8 @@ import java.lang.management.ManagementFactory;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
@@ -34,6 +43,9 @@ public final class HealthPublisher {
 
     private static long heartbeat = 0;
 
+    /** Invocation counts at the previous tick, for per-second rates. Publisher thread only. */
+    private static final Map<String, Long> lastInvocations = new HashMap<>();
+
     public static void start() {
         NetworkTable table =
                 NtClient.get().getTable("pi-logger");
@@ -50,6 +62,30 @@ public final class HealthPublisher {
                 table.getEntry("heartbeat");
         NetworkTableEntry messagesProcessedEntry =
                 table.getEntry("messagesProcessed");
+        NetworkTableEntry recordsPerPacketEntry =
+                table.getEntry("recordsPerPacket");
+        NetworkTableEntry udpPacketsDroppedEntry =
+                table.getEntry("udpPacketsDropped");
+        NetworkTableEntry usbWriteQueueDepth =
+                table.getEntry("usbWriteQueueDepth");
+        NetworkTableEntry usbWritesDropped =
+                table.getEntry("usbWritesDropped");
+        NetworkTableEntry usbFlushEntryThreshold =
+                table.getEntry("usbFlushEntryThreshold");
+        NetworkTableEntry usbFlushIntervalMs =
+                table.getEntry("usbFlushIntervalMs");
+        NetworkTableEntry dedupSuppressed =
+                table.getEntry("dedupSuppressed");
+        NetworkTableEntry ntRttUs =
+                table.getEntry("ntRttUs");
+        NetworkTableEntry ntMirroredTopics =
+                table.getEntry("ntMirroredTopics");
+        NetworkTableEntry logCompressQueue =
+                table.getEntry("logCompressQueue");
+        NetworkTableEntry diskLow =
+                table.getEntry("diskLow");
+        NetworkTableEntry logFilesDeleted =
+                table.getEntry("logFilesDeleted");
 
         connected.setBoolean(true);
 
@@ -67,6 +103,44 @@ public final class HealthPublisher {
 
                 messagesProcessedEntry.setInteger(
                         UdpReceiver.getMessagesProcessed());
+                recordsPerPacketEntry.setDouble(
+                        UdpReceiver.getRecordsPerPacket());
+                udpPacketsDroppedEntry.setInteger(
+                        UdpReceiver.getPacketsDropped());
+                usbWriteQueueDepth.setInteger(
+                        USBFileLogger.getPendingWrites());
+                usbWritesDropped.setInteger(
+                        USBFileLogger.getDroppedWrites());
+                usbFlushEntryThreshold.setInteger(
+                        USBFileLogger.getFlushEntryThreshold());
+                usbFlushIntervalMs.setInteger(
+                        USBFileLogger.getFlushIntervalMs());
+                dedupSuppressed.setInteger(
+                        DedupTelemetryStage.getSuppressedCount());
+                ntRttUs.setInteger(
+                        NtTimeSync.getRttUs());
+                ntMirroredTopics.setInteger(
+                        NtTopicMirror.getMirroredTopicCount());
+                logCompressQueue.setInteger(
+                        LogCompressor.getPendingFiles());
+                diskLow.setBoolean(
+                        LogRetentionManager.isDiskLow());
+                logFilesDeleted.setInteger(
+                        LogRetentionManager.getDeletedFiles());
+
+                NetworkTable stagesTable = table.getSubTable("stages");
+                for (StageMetrics metrics : TelemetryProcessor.getStageMetrics()) {
+                    publishStageMetrics(stagesTable, metrics);
+                }
+                publishStageMetrics(stagesTable, TelemetryProcessor.getEndToEndMetrics());
+                publishStageMetrics(stagesTable, USBFileLogger.getFlushMetrics());
+
+                NetworkTable rateLimitedTable = table.getSubTable("rateLimited");
+                for (Map.Entry<String, Long> dropped : RateLimitTelemetryStage.getDroppedCounts().entrySet()) {
+                    String channel = dropped.getKey();
+                    rateLimitedTable.getEntry(channel.startsWith("/") ? channel.substring(1) : channel)
+                            .setInteger(dropped.getValue());
+                }
 
                 String logDir = LoggerConfig.getString("logger.logDir", DEFAULT_LOG_DIR);
                 diskFree.setDouble(getDiskFreeMB(logDir));
@@ -77,6 +151,26 @@ public final class HealthPublisher {
         }, 0, 1, TimeUnit.SECONDS);
     }
 
+    /**
+     * Publishes one stage's counters under {@code stages/<name>/}. Times are in
+     * microseconds; percentiles and max cover the whole run.
+     */
+    private static void publishStageMetrics(NetworkTable stagesTable, StageMetrics metrics) {
+        NetworkTable t = stagesTable.getSubTable(metrics.name());
+        long invocations = metrics.invocations();
+        Long last = lastInvocations.put(metrics.name(), invocations);
+        LatencyHistogram histogram = metrics.histogram();
+
+        t.getEntry("count").setInteger(invocations);
+        t.getEntry("perSecond").setInteger(last == null ? 0 : invocations - last);
+        t.getEntry("totalMs").setDouble(metrics.totalNanos() / 1e6);
+        t.getEntry("avgMicros").setDouble(metrics.averageNanos() / 1e3);
+        t.getEntry("maxMicros").setDouble(metrics.maxNanos() / 1e3);
+        t.getEntry("p50Micros").setDouble(histogram.valueAtPercentile(50.0) / 1e3);
+        t.getEntry("p99Micros").setDouble(histogram.valueAtPercentile(99.0) / 1e3);
+        t.getEntry("p999Micros").setDouble(histogram.valueAtPercentile(99.9) / 1e3);
+    }
+
     private static double getDiskFreeMB(String path) throws Exception {
         FileStore store = Files.getFileStore(Path.of(path));
         return store.getUsableSpace() / 1e6;
@@ -14,21 +14,28 @@
 //====================================================================================================================================================
 package pi.logger.nt;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.EnumSet;
 
 import edu.wpi.first.math.geometry.Pose2d;
 import pi.logger.structs.ChassisSpeeds;
 import pi.logger.structs.SwerveModulePosition;
 import pi.logger.structs.SwerveModuleState;
+import edu.wpi.first.networktables.DoubleSubscriber;
+import edu.wpi.first.networktables.MultiSubscriber;
 import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEvent;
 import edu.wpi.first.networktables.NetworkTableInstance;
-import edu.wpi.first.networktables.StructArraySubscriber;
-import edu.wpi.first.networktables.StructSubscriber;
-import edu.wpi.first.networktables.Topic;
+import edu.wpi.first.networktables.NetworkTableListenerPoller;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.RawSubscriber;
+import edu.wpi.first.networktables.Subscriber;
+import edu.wpi.first.networktables.TimestampedDouble;
+import edu.wpi.first.networktables.TimestampedRaw;
 import edu.wpi.first.networktables.TopicInfo;
+import edu.wpi.first.util.WPIUtilJNI;
 import edu.wpi.first.util.struct.Struct;
 import pi.logger.config.LoggerConfig;
+import pi.logger.datalog.USBFileLogger;
 import pi.logger.telemetry.TelemetryEvent;
 import pi.logger.telemetry.TelemetryPayloadType;
 import pi.logger.telemetry.TelemetryProcessor;
@@ -37,33 +44,61 @@ import pi.logger.utils.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Logs the drive state the robot publishes over NetworkTables.
+ *
+ * <p>Every subscriber keeps a queue of received values ({@code nt.queueDepth} deep)
+ * and asks the server for all of them rather than the latest per period. The
+ * {@code nt-logger} thread sleeps on an NT listener poller until any of them changes,
+ * then drains each queue with {@code readQueue()}, so every update is logged once,
+ * at full rate, stamped with the time it was published on the robot (translated from
+ * the server clock by {@link NtTimeSync}).
+ *
+ * <p>The struct topics are subscribed as raw bytes under their struct type string and
+ * written to the log as received: the bytes are already in WPILOG struct encoding, so
+ * there is nothing to gain from unpacking them into objects only to pack them again.
+ *
+ * <p>With {@code nt.topicLog} on, the same thread also records every topic the robot
+ * publishes or unpublishes, and type and property changes, to the {@code NT/Topics}
+ * string channel as the announcements arrive (see {@link TopicHistory}).
+ */
 public final class NetworkTablesLogger {
 
     private static final Logger LOG = LoggerFactory.getLogger(NetworkTablesLogger.class);
     
     private static volatile boolean running = true;
-    private static final int SWERVE_MODULE_COUNT = 4;
-    private static final long DEFAULT_TOPIC_DUMP_INTERVAL_MS = 60000; 
-    private static final boolean DEFAULT_TOPIC_DUMP_ENABLED = false;
-    private static final long topicDumpIntervalMs = LoggerConfig.getLong(
-        "nt.topicDumpIntervalMs",
-        DEFAULT_TOPIC_DUMP_INTERVAL_MS,
-        1000
+    private static final boolean DEFAULT_TOPIC_LOG_ENABLED = true;
+    private static final int DEFAULT_QUEUE_DEPTH = 64;
+    /** Longest the thread sleeps without NT updates before checking for stop. */
+    private static final double WAIT_TIMEOUT_S = 0.1;
+    private static final int queueDepth = LoggerConfig.getInt("nt.queueDepth", DEFAULT_QUEUE_DEPTH, 1, 65536);
+    private static final boolean topicLogEnabled = LoggerConfig.getBoolean(
+        "nt.topicLog",
+        DEFAULT_TOPIC_LOG_ENABLED
     );
-    private static final boolean topicDumpEnabled = LoggerConfig.getBoolean(
-        "nt.topicDumpEnabled",
-        DEFAULT_TOPIC_DUMP_ENABLED
-    );
-    private static long lastTopicDumpMs = 0;
+    private static final String TOPIC_LOG_CHANNEL = "NT/Topics";
+    private static final TopicHistory topicHistory = new TopicHistory();
     
     // Subscribers
-    private static StructSubscriber<Pose2d> poseSubscriber;
-    private static StructSubscriber<ChassisSpeeds> chassisSpeedsSubscriber;
-    private static StructArraySubscriber<SwerveModulePosition> modulePositionsSubscriber;
-    private static StructArraySubscriber<SwerveModuleState> moduleStatesSubscriber;
-    private static StructArraySubscriber<SwerveModuleState> moduleTargetsSubscriber;
-    // DriveState table reference used for simple entries (e.g., doubles)
-    private static NetworkTable driveStateTable;
+    private static RawSubscriber poseSubscriber;
+    private static RawSubscriber chassisSpeedsSubscriber;
+    private static RawSubscriber modulePositionsSubscriber;
+    private static RawSubscriber moduleStatesSubscriber;
+    private static RawSubscriber moduleTargetsSubscriber;
+    private static DoubleSubscriber odometryFrequencySubscriber;
+    /** Announcements of every topic, without values, for the topic log. */
+    private static MultiSubscriber topicSubscriber;
+    /** Wakes the logger thread when any subscribed value changes. */
+    private static NetworkTableListenerPoller poller;
+
+    // USB log handles, resolved once so each sample skips the by-name lookup
+    private static int poseHandle = TelemetryEvent.NO_HANDLE;
+    private static int chassisSpeedsHandle = TelemetryEvent.NO_HANDLE;
+    private static int modulePositionsHandle = TelemetryEvent.NO_HANDLE;
+    private static int moduleStatesHandle = TelemetryEvent.NO_HANDLE;
+    private static int moduleTargetsHandle = TelemetryEvent.NO_HANDLE;
+    private static int odometryFrequencyHandle = TelemetryEvent.NO_HANDLE;
+    private static int topicLogHandle = TelemetryEvent.NO_HANDLE;
 
     private NetworkTablesLogger() {}
 
@@ -82,24 +117,61 @@ public final class NetworkTablesLogger {
             // Subscribe to NetworkTables topics
             NetworkTableInstance inst = NtClient.get();
             
-            // Subscribe to DriveState topics
-            driveStateTable = inst.getTable("DriveState");
-            poseSubscriber = driveStateTable.getStructTopic("Pose", Pose2d.struct).subscribe(new Pose2d());
-            chassisSpeedsSubscriber = driveStateTable.getStructTopic("Speeds", ChassisSpeeds.struct).subscribe(new ChassisSpeeds());
-            modulePositionsSubscriber = driveStateTable
-                .getStructArrayTopic("ModulePositions", SwerveModulePosition.struct)
-                .subscribe(createDefaultModulePositions());
-            moduleStatesSubscriber = driveStateTable
-                .getStructArrayTopic("ModuleStates", SwerveModuleState.struct)
-                .subscribe(createDefaultModuleStates());
-            moduleTargetsSubscriber = driveStateTable
-                .getStructArrayTopic("ModuleTargets", SwerveModuleState.struct)
-                .subscribe(createDefaultModuleStates());
+            // Subscribe to DriveState topics, queueing every value the robot sends
+            NetworkTable driveStateTable = inst.getTable("DriveState");
+            PubSubOption[] options = {PubSubOption.pollStorage(queueDepth), PubSubOption.sendAll(true)};
+            poseSubscriber = subscribeRaw(driveStateTable, "Pose", Pose2d.struct.getTypeString(), options);
+            chassisSpeedsSubscriber = subscribeRaw(
+                driveStateTable, "Speeds", ChassisSpeeds.struct.getTypeString(), options);
+            modulePositionsSubscriber = subscribeRaw(
+                driveStateTable, "ModulePositions", SwerveModulePosition.struct.getTypeString() + "[]", options);
+            moduleStatesSubscriber = subscribeRaw(
+                driveStateTable, "ModuleStates", SwerveModuleState.struct.getTypeString() + "[]", options);
+            moduleTargetsSubscriber = subscribeRaw(
+                driveStateTable, "ModuleTargets", SwerveModuleState.struct.getTypeString() + "[]", options);
+            odometryFrequencySubscriber = driveStateTable
+                .getDoubleTopic("OdometryFrequency")
+                .subscribe(Double.NaN, options);
+
+            poller = new NetworkTableListenerPoller(inst);
+            EnumSet<NetworkTableEvent.Kind> valueEvents = EnumSet.of(NetworkTableEvent.Kind.kValueAll);
+            for (Subscriber subscriber : new Subscriber[] {
+                    poseSubscriber, chassisSpeedsSubscriber, modulePositionsSubscriber,
+                    moduleStatesSubscriber, moduleTargetsSubscriber, odometryFrequencySubscriber}) {
+                poller.addListener(subscriber, valueEvents);
+            }
+            if (topicLogEnabled) {
+                // NT4 only announces topics a client subscribes to; topicsOnly keeps the values away.
+                topicSubscriber = new MultiSubscriber(inst, new String[] {""}, PubSubOption.topicsOnly(true));
+                poller.addListener(topicSubscriber, EnumSet.of(NetworkTableEvent.Kind.kImmediate,
+                    NetworkTableEvent.Kind.kPublish, NetworkTableEvent.Kind.kUnpublish,
+                    NetworkTableEvent.Kind.kProperties));
+                topicLogHandle = USBFileLogger.registerChannel(TOPIC_LOG_CHANNEL, "string");
+            }
+
+            poseHandle = USBFileLogger.registerRawStructChannel("DriveState/Pose", Pose2d.struct);
+            chassisSpeedsHandle = USBFileLogger.registerRawStructChannel(
+                "DriveState/ChassisSpeeds", ChassisSpeeds.struct);
+            modulePositionsHandle = USBFileLogger.registerRawStructArrayChannel(
+                "DriveState/ModulePositions", SwerveModulePosition.struct);
+            moduleStatesHandle = USBFileLogger.registerRawStructArrayChannel(
+                "DriveState/ModuleStates", SwerveModuleState.struct);
+            moduleTargetsHandle = USBFileLogger.registerRawStructArrayChannel(
+                "DriveState/ModuleTargets", SwerveModuleState.struct);
+            odometryFrequencyHandle = USBFileLogger.registerChannel("DriveState/OdometryFrequency", "double");
 
             LOG.info("NetworkTables logger started");
 
             while (running) {
-                dumpTopicsPeriodically(inst);
+                if (WPIUtilJNI.waitForObjectTimeout(poller.getHandle(), WAIT_TIMEOUT_S)) {
+                    continue; // timed out: nothing new
+                }
+                // Value events only signal that something changed; the values come from the subscriber queues.
+                for (NetworkTableEvent event : poller.readQueue()) {
+                    if (event.topicInfo != null) {
+                        logTopicAnnouncement(event);
+                    }
+                }
                 // Log Pose2D
                 logPose2D();
                 // Log chassis speeds
@@ -112,11 +184,10 @@ public final class NetworkTablesLogger {
                 logModulePositions();
                 // Log module targets
                 logModuleTargets();
-
-                // Update rate: 50Hz
-                Thread.sleep(20);
             }
 
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             LOG.error("NetworkTables logger error", e);
         } finally {
@@ -126,12 +197,9 @@ public final class NetworkTablesLogger {
 
     private static void logPose2D() {
         try {
-            Pose2d pose = poseSubscriber.get();
-            
-            if (pose != null) {
-                
-                publishStruct("DriveState/Pose", pose, Pose2d.struct);
-            
+            for (TimestampedRaw sample : poseSubscriber.readQueue()) {
+                publishStruct("DriveState/Pose", sample.value, Pose2d.struct, poseHandle,
+                    NtTimeSync.toLogTimeUs(sample.serverTime, sample.timestamp));
             }
         } catch (Exception e) {
             LOG.error("Error logging Pose2D: {}", e.getMessage());
@@ -140,9 +208,9 @@ public final class NetworkTablesLogger {
 
     private static void logChassisSpeeds() {
         try {
-            ChassisSpeeds speeds = chassisSpeedsSubscriber.get();
-            if (speeds != null) {
-                publishStruct("DriveState/ChassisSpeeds", speeds, ChassisSpeeds.struct);
+            for (TimestampedRaw sample : chassisSpeedsSubscriber.readQueue()) {
+                publishStruct("DriveState/ChassisSpeeds", sample.value, ChassisSpeeds.struct, chassisSpeedsHandle,
+                    NtTimeSync.toLogTimeUs(sample.serverTime, sample.timestamp));
             }
         } catch (Exception e) {
             LOG.error("Error logging ChassisSpeeds: {}", e.getMessage());
@@ -151,9 +219,9 @@ public final class NetworkTablesLogger {
 
     private static void logModulePositions() {
         try {
-            SwerveModulePosition[] positions = modulePositionsSubscriber.get();
-            if (positions != null && positions.length > 0) {
-                publishStructArray("DriveState/ModulePositions", positions, SwerveModulePosition.struct);
+            for (TimestampedRaw sample : modulePositionsSubscriber.readQueue()) {
+                publishStructArray("DriveState/ModulePositions", sample.value, SwerveModulePosition.struct,
+                    modulePositionsHandle, NtTimeSync.toLogTimeUs(sample.serverTime, sample.timestamp));
             }
         } catch (Exception e) {
             LOG.error("Error logging ModulePositions: {}", e.getMessage());
@@ -162,10 +230,11 @@ public final class NetworkTablesLogger {
 
     private static void logOdometryFrequency() {
         try {
-            if (driveStateTable == null) return;
-            double freq = driveStateTable.getEntry("OdometryFrequency").getDouble(Double.NaN);
-            if (!Double.isNaN(freq)) {
-                publishScalar(TelemetryPayloadType.DOUBLE, "DriveState/OdometryFrequency", freq);
+            for (TimestampedDouble sample : odometryFrequencySubscriber.readQueue()) {
+                if (!Double.isNaN(sample.value)) {
+                    publishDouble("DriveState/OdometryFrequency", sample.value, odometryFrequencyHandle,
+                        NtTimeSync.toLogTimeUs(sample.serverTime, sample.timestamp));
+                }
             }
         } catch (Exception e) {
             LOG.error("Error logging OdometryFrequency: {}", e.getMessage());
@@ -174,9 +243,9 @@ public final class NetworkTablesLogger {
 
     private static void logModuleStates() {
         try {
-            SwerveModuleState[] states = moduleStatesSubscriber.get();
-            if (states != null && states.length > 0) {
-                publishStructArray("DriveState/ModuleStates", states, SwerveModuleState.struct);
+            for (TimestampedRaw sample : moduleStatesSubscriber.readQueue()) {
+                publishStructArray("DriveState/ModuleStates", sample.value, SwerveModuleState.struct,
+                    moduleStatesHandle, NtTimeSync.toLogTimeUs(sample.serverTime, sample.timestamp));
             }
         } catch (Exception e) {
             LOG.error("Error logging ModuleStates: {}", e.getMessage());
@@ -185,29 +254,19 @@ public final class NetworkTablesLogger {
 
     private static void logModuleTargets() {
         try {
-            SwerveModuleState[] targets = moduleTargetsSubscriber.get();
-            if (targets != null && targets.length > 0) {
-                publishStructArray("DriveState/ModuleTargets", targets, SwerveModuleState.struct);
+            for (TimestampedRaw sample : moduleTargetsSubscriber.readQueue()) {
+                publishStructArray("DriveState/ModuleTargets", sample.value, SwerveModuleState.struct,
+                    moduleTargetsHandle, NtTimeSync.toLogTimeUs(sample.serverTime, sample.timestamp));
             }
         } catch (Exception e) {
             LOG.error("Error logging ModuleTargets: {}", e.getMessage());
         }
     }
 
-    private static SwerveModulePosition[] createDefaultModulePositions() {
-        SwerveModulePosition[] defaults = new SwerveModulePosition[SWERVE_MODULE_COUNT];
-        for (int i = 0; i < SWERVE_MODULE_COUNT; i++) {
-            defaults[i] = new SwerveModulePosition();
-        }
-        return defaults;
-    }
-
-    private static SwerveModuleState[] createDefaultModuleStates() {
-        SwerveModuleState[] defaults = new SwerveModuleState[SWERVE_MODULE_COUNT];
-        for (int i = 0; i < SWERVE_MODULE_COUNT; i++) {
-            defaults[i] = new SwerveModuleState();
-        }
-        return defaults;
+    /** Subscribes to a struct topic's serialized bytes; values published under another type are not delivered. */
+    private static RawSubscriber subscribeRaw(
+            NetworkTable table, String name, String typeString, PubSubOption... options) {
+        return table.getRawTopic(name).subscribe(typeString, new byte[0], options);
     }
 
     private static void closeSubs() {
@@ -226,83 +285,81 @@ public final class NetworkTablesLogger {
         if (moduleTargetsSubscriber != null) {
             moduleTargetsSubscriber.close();
         }
-    }
-
-    private static void dumpAllNetworkTableKeys(NetworkTableInstance inst) {
-        try {
-            Topic[] topics = inst.getTopics();
-            TopicInfo[] infos = inst.getTopicInfo();
-            Map<String, TopicInfo> infoByName = new HashMap<>();
-            for (TopicInfo info : infos) {
-                infoByName.put(info.name, info);
-            }
-            LOG.info("---- NetworkTables Topics ({}) ----", topics.length);
-            for (Topic topic : topics) {
-                TopicInfo info = infoByName.get(topic.getName());
-        String typeLabel = (info != null && info.typeStr != null && !info.typeStr.isBlank())
-            ? info.typeStr
-            : topic.getType().toString();
-                LOG.info("  {} (type={})", topic.getName(), typeLabel);
-            }
-            LOG.info("---- End NetworkTables Topics ----");
-        } catch (Exception e) {
-            LOG.error("Failed to enumerate NetworkTables topics: {}", e.getMessage());
+        if (odometryFrequencySubscriber != null) {
+            odometryFrequencySubscriber.close();
         }
-    }
-
-    private static void dumpTopicsPeriodically(NetworkTableInstance inst) {
-        if (!topicDumpEnabled) {
-            return;
+        if (topicSubscriber != null) {
+            topicSubscriber.close();
         }
-        long now = System.currentTimeMillis();
-        if (now - lastTopicDumpMs >= topicDumpIntervalMs) {
-            dumpAllNetworkTableKeys(inst);
-            lastTopicDumpMs = now;
+        if (poller != null) {
+            poller.close();
         }
     }
 
-    private static void publishStruct(String channel, Object value, Struct<?> struct) {
-        if (value == null || struct == null) {
+    private static void logTopicAnnouncement(NetworkTableEvent event) {
+        TopicInfo info = event.topicInfo;
+        String record;
+        if (event.is(NetworkTableEvent.Kind.kUnpublish)) {
+            record = topicHistory.unpublished(info.name, info.typeStr);
+        } else if (event.is(NetworkTableEvent.Kind.kProperties)) {
+            record = topicHistory.propertiesChanged(info.name, info.properties);
+        } else {
+            record = topicHistory.published(info.name, info.typeStr);
+        }
+        if (record == null) {
             return;
         }
-        TelemetryEvent event = new TelemetryEvent(
+        LOG.debug("NT topic: {}", record);
+        TelemetryProcessor.publish(
             TimeUtils.nowUs(),
             TelemetrySource.NETWORK_TABLES,
-            TelemetryPayloadType.STRUCT,
-            channel,
-            value,
-            struct
+            TelemetryPayloadType.STRING,
+            TOPIC_LOG_CHANNEL,
+            record,
+            null,
+            topicLogHandle
         );
-        TelemetryProcessor.publish(event);
     }
 
-    private static void publishStructArray(String channel, Object[] values, Struct<?> struct) {
-        if (values == null || values.length == 0) {
+    /**
+     * Passes a struct value's bytes through as {@code RAW_BYTES}. A value whose size isn't
+     * the struct's (e.g. the robot runs a different struct layout) is dropped rather than
+     * logged under a schema that can't decode it.
+     */
+    private static void publishStruct(String channel, byte[] value, Struct<?> struct, int handle, long timestampUs) {
+        if (value == null || value.length != struct.getSize()) {
             return;
         }
-        TelemetryEvent event = new TelemetryEvent(
-            TimeUtils.nowUs(),
+        publishRaw(channel, value, handle, timestampUs);
+    }
+
+    /** Like {@link #publishStruct}; the size must be a non-zero multiple of the struct's. */
+    private static void publishStructArray(String channel, byte[] values, Struct<?> struct, int handle, long timestampUs) {
+        if (values == null || values.length == 0 || values.length % struct.getSize() != 0) {
+            return;
+        }
+        publishRaw(channel, values, handle, timestampUs);
+    }
+
+    private static void publishRaw(String channel, byte[] value, int handle, long timestampUs) {
+        TelemetryProcessor.publish(
+            timestampUs,
             TelemetrySource.NETWORK_TABLES,
-            TelemetryPayloadType.STRUCT_ARRAY,
+            TelemetryPayloadType.RAW_BYTES,
             channel,
-            values,
-            struct
+            value,
+            null,
+            handle
         );
-        TelemetryProcessor.publish(event);
     }
 
-    private static void publishScalar(TelemetryPayloadType type, String channel, Object value) {
-        if (value == null) {
-            return;
-        }
-        TelemetryEvent event = new TelemetryEvent(
-            TimeUtils.nowUs(),
+    private static void publishDouble(String channel, double value, int handle, long timestampUs) {
+        TelemetryProcessor.publishDouble(
+            timestampUs,
             TelemetrySource.NETWORK_TABLES,
-            type,
             channel,
             value,
-            null
+            handle
         );
-        TelemetryProcessor.publish(event);
     }
 }
@@ -0,0 +1,124 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.TimeSyncEventData;
+import pi.logger.config.LoggerConfig;
+import pi.logger.datalog.USBFileLogger;
+import pi.logger.telemetry.TelemetryProcessor;
+import pi.logger.telemetry.TelemetrySource;
+import pi.logger.utils.TimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts NT value timestamps into log time using the NT4 server clock.
+ *
+ * <p>Every NT value carries the time it was published on the robot, in server time. NT
+ * also converts that to the local clock, but with whatever offset its latest ping
+ * measured, so a single slow ping shifts every timestamp after it. This class listens
+ * to the same time sync measurements, keeps the offset from the fastest recent ping
+ * ({@link TimeSyncFilter}) and uses it for {@link #toLogTimeUs}. Until the first
+ * measurement arrives, and after a disconnect, NT's local timestamp is used instead.
+ *
+ * <p>Each measurement is logged under {@code NT/TimeSync}: the measured offset and round
+ * trip time, the offset in use, and {@code LogToServerUs}, which added to a log
+ * timestamp gives roboRIO time so the Pi and robot logs can be overlaid.
+ */
+public final class NtTimeSync {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NtTimeSync.class);
+
+    private static final int DEFAULT_WINDOW = 8;
+    private static final long UNSYNCED = Long.MIN_VALUE;
+
+    private static final TimeSyncFilter filter =
+            new TimeSyncFilter(LoggerConfig.getInt("nt.timeSyncWindow", DEFAULT_WINDOW, 1, 1024));
+    /** Server minus local NT time in µs, or {@link #UNSYNCED}. */
+    private static volatile long offsetUs = UNSYNCED;
+    private static volatile long rttUs = 0;
+
+    private static int measuredOffsetHandle;
+    private static int rttHandle;
+    private static int offsetHandle;
+    private static int logToServerHandle;
+
+    private NtTimeSync() {}
+
+    public static void start() {
+        measuredOffsetHandle = USBFileLogger.registerChannel("NT/TimeSync/MeasuredOffsetUs", "int64");
+        rttHandle = USBFileLogger.registerChannel("NT/TimeSync/RttUs", "int64");
+        offsetHandle = USBFileLogger.registerChannel("NT/TimeSync/OffsetUs", "int64");
+        logToServerHandle = USBFileLogger.registerChannel("NT/TimeSync/LogToServerUs", "int64");
+        NetworkTableInstance inst = NtClient.get();
+        inst.addTimeSyncListener(true, NtTimeSync::onTimeSync);
+    }
+
+    /**
+     * Log time of an NT value published at {@code serverTimeUs}, falling back to the value's
+     * local timestamp {@code ntTimeUs} while the server clock offset is unknown.
+     */
+    public static long toLogTimeUs(long serverTimeUs, long ntTimeUs) {
+        long offset = offsetUs;
+        if (offset == UNSYNCED || serverTimeUs == 0) {
+            return TimeUtils.fromNtTimeUs(ntTimeUs);
+        }
+        return TimeUtils.fromNtTimeUs(serverTimeUs - offset);
+    }
+
+    /** Latest measured round trip time to the NT server in µs, 0 before the first. */
+    public static long getRttUs() {
+        return rttUs;
+    }
+
+    /** Whether values are being stamped from the server clock. */
+    public static boolean isSynced() {
+        return offsetUs != UNSYNCED;
+    }
+
+    private static synchronized void onTimeSync(NetworkTableEvent event) {
+        TimeSyncEventData data = event.timeSyncData;
+        if (data == null) {
+            return;
+        }
+        if (!data.valid) {
+            if (offsetUs != UNSYNCED) {
+                LOG.info("NT time sync lost; using local timestamps");
+            }
+            filter.reset();
+            offsetUs = UNSYNCED;
+            return;
+        }
+        long rtt = 2 * data.rtt2;
+        boolean first = offsetUs == UNSYNCED;
+        long offset = filter.update(data.serverTimeOffset, rtt);
+        offsetUs = offset;
+        rttUs = rtt;
+        if (first) {
+            LOG.info("NT time sync: offset {} us, rtt {} us", offset, rtt);
+        }
+
+        long now = TimeUtils.nowUs();
+        TelemetryProcessor.publishLong(now, TelemetrySource.NETWORK_TABLES,
+                "NT/TimeSync/MeasuredOffsetUs", data.serverTimeOffset, measuredOffsetHandle);
+        TelemetryProcessor.publishLong(now, TelemetrySource.NETWORK_TABLES, "NT/TimeSync/RttUs", rtt, rttHandle);
+        TelemetryProcessor.publishLong(now, TelemetrySource.NETWORK_TABLES, "NT/TimeSync/OffsetUs", offset, offsetHandle);
+        // Log time t was local NT time t - fromNtTimeUs(0); server time is that plus the offset.
+        TelemetryProcessor.publishLong(now, TelemetrySource.NETWORK_TABLES,
+                "NT/TimeSync/LogToServerUs", offset - TimeUtils.fromNtTimeUs(0), logToServerHandle);
+    }
+}
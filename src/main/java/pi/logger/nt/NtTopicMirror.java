@@ -0,0 +1,353 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import edu.wpi.first.networktables.MultiSubscriber;
+import edu.wpi.first.networktables.NetworkTableEvent;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTableListenerPoller;
+import edu.wpi.first.networktables.NetworkTableType;
+import edu.wpi.first.networktables.NetworkTableValue;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.Topic;
+import edu.wpi.first.networktables.ValueEventData;
+import edu.wpi.first.util.WPIUtilJNI;
+import pi.logger.config.LoggerConfig;
+import pi.logger.datalog.USBFileLogger;
+import pi.logger.telemetry.TelemetryEvent;
+import pi.logger.telemetry.TelemetryPayloadType;
+import pi.logger.telemetry.TelemetryProcessor;
+import pi.logger.telemetry.TelemetrySource;
+import pi.logger.utils.Globs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs every NetworkTables topic matching {@code nt.mirror.topics} (comma-separated globs,
+ * e.g. {@code /Shooter/**, /Vision/*}) as {@code NT:<topic>}, whatever its type.
+ *
+ * <p>One {@link MultiSubscriber} covers the globs' literal prefixes, so topics the robot
+ * publishes later are picked up without a restart. The {@code nt-mirror} thread sleeps on
+ * a listener poller and handles each batch of value events as it arrives; a topic is
+ * resolved to a log channel on its first value and looked up by topic handle after that.
+ * A value of another type than the topic was resolved with (the robot republished it
+ * with a new type) resolves it again; if {@code NT:<topic>} is already taken by the old
+ * type, the new one is logged as {@code NT:<topic>:<type>}.
+ * Struct and protobuf schemas published under {@code /.schema/} are handed to
+ * {@link USBFileLogger#registerSchema} so raw struct topics decode in AdvantageScope.
+ *
+ * <p>NT {@code float} is logged as {@code double}, and {@code string[]} topics are skipped
+ * since the USB writer has no string array entries.
+ */
+public final class NtTopicMirror {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NtTopicMirror.class);
+
+    private static final String SCHEMA_PREFIX = "/.schema/";
+    private static final String CHANNEL_PREFIX = "NT:";
+    /** Longest the thread sleeps without NT updates before checking for stop. */
+    private static final double WAIT_TIMEOUT_S = 0.1;
+    /** NT handles keep the topic's index in their low bits. */
+    private static final int HANDLE_INDEX_MASK = 0xFFFFF;
+
+    private static volatile boolean running = true;
+    private static volatile int mirroredTopics = 0;
+
+    /** Resolved topics indexed by the low bits of their NT handle. nt-mirror thread only. */
+    private static MirroredTopic[] topics = new MirroredTopic[256];
+
+    /**
+     * How a topic is logged: {@code channel} is {@code null} for topics that aren't, and
+     * {@code payloadType} is {@code null} for {@code /.schema/} topics.
+     */
+    private record MirroredTopic(
+            int topicHandle, String channel, NetworkTableType ntType, TelemetryPayloadType payloadType, int handle) {
+
+        static MirroredTopic ignored(int topicHandle, NetworkTableType ntType) {
+            return new MirroredTopic(topicHandle, null, ntType, null, TelemetryEvent.NO_HANDLE);
+        }
+    }
+
+    private NtTopicMirror() {}
+
+    public static void start() {
+        List<String> globs = parseGlobs(LoggerConfig.getString("nt.mirror.topics", ""));
+        if (globs.isEmpty()) {
+            return;
+        }
+        Thread t = new Thread(() -> run(globs), "nt-mirror");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public static void stop() {
+        running = false;
+    }
+
+    /** Topics currently being logged. */
+    public static int getMirroredTopicCount() {
+        return mirroredTopics;
+    }
+
+    private static void run(List<String> globs) {
+        Pattern[] patterns = globs.stream().map(Globs::toPattern).toArray(Pattern[]::new);
+        NetworkTableListenerPoller poller = null;
+        MultiSubscriber subscriber = null;
+        try {
+            NetworkTableInstance inst = NtClient.get();
+            subscriber = new MultiSubscriber(inst, subscriptionPrefixes(globs), PubSubOption.sendAll(true));
+            poller = new NetworkTableListenerPoller(inst);
+            poller.addListener(subscriber, EnumSet.of(NetworkTableEvent.Kind.kValueAll));
+
+            LOG.info("NetworkTables mirror started for {}", globs);
+
+            while (running) {
+                if (WPIUtilJNI.waitForObjectTimeout(poller.getHandle(), WAIT_TIMEOUT_S)) {
+                    continue; // timed out: nothing new
+                }
+                for (NetworkTableEvent event : poller.readQueue()) {
+                    ValueEventData data = event.valueData;
+                    if (data != null && data.value != null) {
+                        mirror(data, patterns);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.error("NetworkTables mirror error", e);
+        } finally {
+            if (poller != null) {
+                poller.close();
+            }
+            if (subscriber != null) {
+                subscriber.close();
+            }
+        }
+    }
+
+    private static void mirror(ValueEventData data, Pattern[] patterns) {
+        NetworkTableValue value = data.value;
+        MirroredTopic topic = lookup(data.topic);
+        if (topic != null && value.getType() != topic.ntType()) {
+            if (topic.channel() != null) {
+                LOG.warn("NT topic {} changed type from {} to {}", data.getTopic().getName(),
+                        topic.ntType(), value.getType());
+                if (topic.payloadType() != null) {
+                    mirroredTopics--;
+                }
+            }
+            topic = null;
+        }
+        if (topic == null) {
+            topic = resolve(data, patterns);
+        }
+        if (topic.channel() == null) {
+            return;
+        }
+        if (topic.payloadType() == null) {
+            USBFileLogger.registerSchema(topic.channel(), schemaType(topic.channel()), value.getRaw());
+            return;
+        }
+        long timestampUs = NtTimeSync.toLogTimeUs(value.getServerTime(), value.getTime());
+        switch (topic.payloadType()) {
+            case BOOLEAN -> TelemetryProcessor.publishBoolean(
+                    timestampUs, TelemetrySource.NETWORK_TABLES, topic.channel(), value.getBoolean(), topic.handle());
+            case INTEGER -> TelemetryProcessor.publishLong(
+                    timestampUs, TelemetrySource.NETWORK_TABLES, topic.channel(), value.getInteger(), topic.handle());
+            case DOUBLE -> TelemetryProcessor.publishDouble(
+                    timestampUs, TelemetrySource.NETWORK_TABLES, topic.channel(),
+                    topic.ntType() == NetworkTableType.kFloat ? value.getFloat() : value.getDouble(), topic.handle());
+            default -> TelemetryProcessor.publish(
+                    timestampUs, TelemetrySource.NETWORK_TABLES, topic.payloadType(), topic.channel(),
+                    payload(value), null, topic.handle());
+        }
+    }
+
+    private static MirroredTopic lookup(int topicHandle) {
+        int index = topicHandle & HANDLE_INDEX_MASK;
+        if (index >= topics.length) {
+            return null;
+        }
+        MirroredTopic topic = topics[index];
+        // A slot may be reused by a later topic once the old one is unpublished.
+        return topic != null && topic.topicHandle() == topicHandle ? topic : null;
+    }
+
+    /**
+     * Decides on a topic's first value (or first value of a new type) whether and how it is
+     * logged, and caches the result.
+     */
+    private static MirroredTopic resolve(ValueEventData data, Pattern[] patterns) {
+        Topic ntTopic = data.getTopic();
+        String name = ntTopic.getName();
+        NetworkTableType type = data.value.getType();
+        MirroredTopic topic = MirroredTopic.ignored(data.topic, type);
+        if (name.startsWith(SCHEMA_PREFIX)) {
+            if (type == NetworkTableType.kRaw && !schemaType(name.substring(SCHEMA_PREFIX.length())).isEmpty()) {
+                topic = new MirroredTopic(data.topic, name.substring(SCHEMA_PREFIX.length()), type, null,
+                        TelemetryEvent.NO_HANDLE);
+            }
+        } else if (matches(name, patterns)) {
+            String dataLogType = dataLogType(type, ntTopic.getTypeString());
+            String channel = CHANNEL_PREFIX + name;
+            int handle = dataLogType == null ? TelemetryEvent.NO_HANDLE
+                    : USBFileLogger.registerChannel(channel, dataLogType);
+            if (handle == TelemetryEvent.NO_HANDLE && dataLogType != null) {
+                // Already logged under another type: keep both channels decodable.
+                channel = retypedChannel(name, dataLogType);
+                handle = USBFileLogger.registerChannel(channel, dataLogType);
+            }
+            if (handle != TelemetryEvent.NO_HANDLE) {
+                topic = new MirroredTopic(data.topic, channel, type, payloadType(type), handle);
+                mirroredTopics++;
+                LOG.info("Mirroring {} as {} ({})", name, channel, dataLogType);
+            } else if (dataLogType == null) {
+                LOG.info("Not mirroring {}: {} topics aren't supported", name, ntTopic.getTypeString());
+            }
+        }
+        int index = data.topic & HANDLE_INDEX_MASK;
+        if (index >= topics.length) {
+            topics = Arrays.copyOf(topics, Math.max(index + 1, topics.length * 2));
+        }
+        topics[index] = topic;
+        return topic;
+    }
+
+    private static boolean matches(String name, Pattern[] patterns) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Object payload(NetworkTableValue value) {
+        return switch (value.getType()) {
+            case kString -> value.getString();
+            case kRaw -> value.getRaw();
+            case kBooleanArray -> value.getBooleanArray();
+            case kDoubleArray -> value.getDoubleArray();
+            case kIntegerArray -> value.getIntegerArray();
+            case kFloatArray -> value.getFloatArray();
+            default -> null;
+        };
+    }
+
+    /** Channel for a topic whose {@code NT:<topic>} channel was registered with another type. */
+    static String retypedChannel(String topicName, String dataLogType) {
+        return CHANNEL_PREFIX + topicName + ":" + dataLogType;
+    }
+
+    /**
+     * Schema record type for a {@code /.schema/} topic name, e.g. {@code structschema} for
+     * {@code struct:Pose2d}, or empty for schema kinds the log doesn't know.
+     */
+    static String schemaType(String schemaName) {
+        if (schemaName.startsWith("struct:")) {
+            return "structschema";
+        }
+        if (schemaName.startsWith("proto:")) {
+            return "proto:FileDescriptorProto";
+        }
+        return "";
+    }
+
+    /**
+     * WPILOG entry type for a mirrored topic, or {@code null} if it can't be mirrored.
+     * Strings and raw topics keep their NT type string ({@code json}, {@code struct:Pose2d}, ...)
+     * so viewers can decode them.
+     */
+    static String dataLogType(NetworkTableType type, String typeString) {
+        boolean typed = typeString != null && !typeString.isEmpty();
+        return switch (type) {
+            case kBoolean -> "boolean";
+            case kDouble, kFloat -> "double";
+            case kInteger -> "int64";
+            case kString -> typed ? typeString : "string";
+            case kRaw -> typed ? typeString : "raw";
+            case kBooleanArray -> "boolean[]";
+            case kDoubleArray -> "double[]";
+            case kIntegerArray -> "int64[]";
+            case kFloatArray -> "float[]";
+            default -> null;
+        };
+    }
+
+    static TelemetryPayloadType payloadType(NetworkTableType type) {
+        return switch (type) {
+            case kBoolean -> TelemetryPayloadType.BOOLEAN;
+            case kDouble, kFloat -> TelemetryPayloadType.DOUBLE;
+            case kInteger -> TelemetryPayloadType.INTEGER;
+            case kString -> TelemetryPayloadType.STRING;
+            case kRaw -> TelemetryPayloadType.RAW_BYTES;
+            case kBooleanArray -> TelemetryPayloadType.BOOLEAN_ARRAY;
+            case kDoubleArray -> TelemetryPayloadType.DOUBLE_ARRAY;
+            case kIntegerArray -> TelemetryPayloadType.INTEGER_ARRAY;
+            case kFloatArray -> TelemetryPayloadType.FLOAT_ARRAY;
+            default -> null;
+        };
+    }
+
+    /** Splits {@code nt.mirror.topics} into its globs. */
+    static List<String> parseGlobs(String spec) {
+        List<String> globs = new ArrayList<>();
+        if (spec == null) {
+            return globs;
+        }
+        for (String entry : spec.split(",")) {
+            String glob = entry.trim();
+            if (!glob.isEmpty()) {
+                globs.add(glob);
+            }
+        }
+        return globs;
+    }
+
+    /**
+     * Subscription prefixes for the globs: each glob's literal prefix (dropping any that
+     * another already covers), plus {@code /.schema/} for the struct schemas.
+     */
+    static String[] subscriptionPrefixes(List<String> globs) {
+        Set<String> prefixes = new LinkedHashSet<>();
+        prefixes.add(SCHEMA_PREFIX);
+        for (String glob : globs) {
+            prefixes.add(Globs.literalPrefix(glob));
+        }
+        List<String> result = new ArrayList<>();
+        for (String prefix : prefixes) {
+            boolean covered = false;
+            for (String other : prefixes) {
+                if (!other.equals(prefix) && prefix.startsWith(other)) {
+                    covered = true;
+                    break;
+                }
+            }
+            if (!covered) {
+                result.add(prefix);
+            }
+        }
+        return result.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,55 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+/**
+ * Picks the NT server clock offset to use from recent time sync measurements: the one
+ * taken with the lowest round trip time, whose error (at most half the round trip) is
+ * smallest. A measurement on a congested link therefore doesn't move the offset, while
+ * keeping only the last {@code window} samples lets it follow slow clock drift.
+ */
+final class TimeSyncFilter {
+
+    private final long[] offsets;
+    private final long[] rtts;
+    private int count = 0;
+    private int next = 0;
+
+    TimeSyncFilter(int window) {
+        offsets = new long[window];
+        rtts = new long[window];
+    }
+
+    /** Adds a measurement and returns the offset (server minus local, µs) to use from now on. */
+    long update(long offsetUs, long rttUs) {
+        offsets[next] = offsetUs;
+        rtts[next] = rttUs;
+        next = (next + 1) % offsets.length;
+        count = Math.min(count + 1, offsets.length);
+        int best = 0;
+        for (int i = 1; i < count; i++) {
+            if (rtts[i] < rtts[best]) {
+                best = i;
+            }
+        }
+        return offsets[best];
+    }
+
+    /** Forgets all measurements, e.g. when the server connection drops and its clock may restart. */
+    void reset() {
+        count = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,56 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns NT topic announcements into the records of the {@code NT/Topics} log channel:
+ * {@code publish <topic> <type>}, {@code unpublish <topic> <type>},
+ * {@code retype <topic> <old> -> <new>} and {@code properties <topic> <json>}.
+ * A topic that comes back under another type is a type change; one that is
+ * announced again unchanged is not recorded.
+ */
+final class TopicHistory {
+
+    /** Type of every announced topic, by name. */
+    private final Map<String, String> types = new HashMap<>();
+
+    /** Record for a publish announcement, or {@code null} if nothing changed. */
+    String published(String name, String type) {
+        String previous = types.put(name, type);
+        if (previous == null) {
+            return "publish " + name + " " + type;
+        }
+        return previous.equals(type) ? null : "retype " + name + " " + previous + " -> " + type;
+    }
+
+    /** Record for an unpublish announcement. */
+    String unpublished(String name, String type) {
+        types.remove(name);
+        return "unpublish " + name + " " + type;
+    }
+
+    /** Record for a change of a topic's properties. */
+    String propertiesChanged(String name, String properties) {
+        return "properties " + name + " " + properties;
+    }
+
+    /** Topics currently published. */
+    int size() {
+        return types.size();
+    }
+}
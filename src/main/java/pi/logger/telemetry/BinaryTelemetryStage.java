@@ -0,0 +1,361 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decodes compact binary UDP frames into typed {@link TelemetryEvent}s.
+ *
+ * <p>Frame layout (all multi-byte values little-endian):
+ * <pre>
+ *   u8  magic        0xD3
+ *   u8  version      1
+ *   u8  kind         1 = data, 2 = announce, 3 = compact data
+ *   u8  flags        bit 0: every data record carries an i64 timestamp (microseconds)
+ *   u16 recordCount
+ *   records...
+ * </pre>
+ * <ul>
+ *   <li>data: {@code u16 signalId, u8 typeTag, [i64 timestampUs], value}
+ *   <li>announce: {@code u16 signalId, u8 typeTag, u16 nameLen, name, u16 unitsLen, units}
+ *   <li>compact data: {@code u16 signalId, [i64 timestampUs], value}; the type comes from
+ *       the signal's announcement, so records for unannounced IDs end the frame
+ * </ul>
+ * The value encoding depends on the tag (see the {@code TAG_*} constants). Scalars are
+ * fixed width; strings and raw values are {@code u16 length + bytes}; arrays are
+ * {@code u16 count + elements}. Names and units are UTF-8.
+ *
+ * <p>Announced signals use the announced entry name and a pre-registered
+ * {@link pi.logger.datalog.USBFileLogger} channel handle; unannounced IDs fall back to
+ * {@code udp/signal/<id>}. Either way the name is built once and cached, so decoding a
+ * numeric record creates no Strings. Senders should re-announce periodically so a
+ * restarted logger relearns the dictionary.
+ */
+public final class BinaryTelemetryStage implements TelemetryStage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BinaryTelemetryStage.class);
+
+    public static final byte MAGIC = (byte) 0xD3;
+    public static final byte VERSION = 1;
+    public static final byte KIND_DATA = 1;
+    public static final byte KIND_ANNOUNCE = 2;
+    public static final byte KIND_DATA_COMPACT = 3;
+    public static final byte FLAG_TIMESTAMPS = 0x01;
+    public static final int HEADER_SIZE = 6;
+
+    public static final byte TAG_DOUBLE = 1;
+    public static final byte TAG_FLOAT = 2;
+    public static final byte TAG_INTEGER = 3;
+    public static final byte TAG_BOOLEAN = 4;
+    public static final byte TAG_STRING = 5;
+    public static final byte TAG_RAW = 6;
+    public static final byte TAG_DOUBLE_ARRAY = 7;
+    public static final byte TAG_FLOAT_ARRAY = 8;
+    public static final byte TAG_INTEGER_ARRAY = 9;
+    public static final byte TAG_BOOLEAN_ARRAY = 10;
+
+    private static final String UNNAMED_CHANNEL_PREFIX = "udp/signal/";
+    private static final int UNKNOWN_TAG = -2;
+
+    // Only touched by the processor thread.
+    private static final SignalDictionary dictionary = new SignalDictionary();
+    private static final String[] unnamedChannels = new String[SignalDictionary.MAX_SIGNAL_ID + 1];
+    private static volatile long unknownSignalCount = 0;
+
+    /** Returns true if the datagram starts with the binary frame magic byte. */
+    public static boolean isBinaryFrame(ByteBuffer payload) {
+        return payload.remaining() >= HEADER_SIZE && payload.get(payload.position()) == MAGIC;
+    }
+
+    /** Data record count from a frame header, or 0 for announce frames and non-binary payloads. */
+    public static int recordCount(ByteBuffer payload) {
+        if (!isBinaryFrame(payload) || payload.get(payload.position() + 2) == KIND_ANNOUNCE) {
+            return 0;
+        }
+        return Short.toUnsignedInt(payload.order(ByteOrder.LITTLE_ENDIAN).getShort(payload.position() + 4));
+    }
+
+    /** Compact records dropped because their signal ID had not been announced. */
+    public static long getUnknownSignalCount() {
+        return unknownSignalCount;
+    }
+
+    @Override
+    public void apply(TelemetryContext context) {
+        if (context.payloadType() != TelemetryPayloadType.BINARY) {
+            return;
+        }
+        ByteBuffer frame = context.payloadAsBuffer();
+        if (frame == null) {
+            return;
+        }
+        TelemetryEvent original = context.getEvent();
+        decode(frame, original.source(), original.timestampUs(), context);
+    }
+
+    /**
+     * Decodes every record in {@code frame} and hands the resulting events to {@code sink}.
+     * Uses absolute reads only, so the buffer's position is not modified.
+     * <p>Package-private to allow direct testing without a running processor.</p>
+     *
+     * @param receiveTimeUs timestamp used for records that don't carry their own
+     * @return number of records decoded, or -1 if the frame was malformed
+     */
+    static int decode(ByteBuffer frame, TelemetrySource source, long receiveTimeUs, TelemetrySink sink) {
+        frame.order(ByteOrder.LITTLE_ENDIAN);
+        int base = frame.position();
+        int limit = frame.limit();
+        if (limit - base < HEADER_SIZE || frame.get(base) != MAGIC) {
+            LOG.warn("Invalid binary frame header");
+            return -1;
+        }
+        byte version = frame.get(base + 1);
+        byte kind = frame.get(base + 2);
+        boolean hasTimestamps = (frame.get(base + 3) & FLAG_TIMESTAMPS) != 0;
+        int count = Short.toUnsignedInt(frame.getShort(base + 4));
+        int pos = base + HEADER_SIZE;
+        if (version != VERSION) {
+            LOG.warn("Unsupported binary frame version {}", version);
+            return -1;
+        }
+        return switch (kind) {
+            case KIND_DATA -> decodeData(frame, pos, limit, count, hasTimestamps, false, source, receiveTimeUs, sink);
+            case KIND_DATA_COMPACT -> decodeData(frame, pos, limit, count, hasTimestamps, true, source, receiveTimeUs, sink);
+            case KIND_ANNOUNCE -> decodeAnnounce(frame, pos, limit, count);
+            default -> {
+                LOG.warn("Unsupported binary frame kind {}", kind);
+                yield -1;
+            }
+        };
+    }
+
+    private static int decodeData(
+            ByteBuffer frame,
+            int pos,
+            int limit,
+            int count,
+            boolean hasTimestamps,
+            boolean compact,
+            TelemetrySource source,
+            long receiveTimeUs,
+            TelemetrySink sink) {
+
+        int idSize = compact ? Short.BYTES : Short.BYTES + 1;
+        for (int i = 0; i < count; i++) {
+            if (pos + idSize > limit) {
+                return truncated(i, count);
+            }
+            int signalId = Short.toUnsignedInt(frame.getShort(pos));
+            boolean known = dictionary.isKnown(signalId);
+            byte tag;
+            if (compact) {
+                if (!known) {
+                    long unknown = ++unknownSignalCount;
+                    if (unknown == 1 || unknown % 1000 == 0) {
+                        LOG.warn("Compact record for unannounced signal {} ({} total); dropping rest of frame",
+                                signalId, unknown);
+                    }
+                    return -1;
+                }
+                tag = dictionary.typeTag(signalId);
+            } else {
+                tag = frame.get(pos + Short.BYTES);
+            }
+            pos += idSize;
+            long timestampUs = receiveTimeUs;
+            if (hasTimestamps) {
+                if (pos + Long.BYTES > limit) {
+                    return truncated(i, count);
+                }
+                timestampUs = frame.getLong(pos);
+                pos += Long.BYTES;
+            }
+            int valueSize = valueSize(frame, pos, limit, tag);
+            if (valueSize < 0 || pos + valueSize > limit) {
+                if (valueSize == UNKNOWN_TAG) {
+                    LOG.warn("Unknown binary type tag {} for signal {}", tag, signalId);
+                    return -1;
+                }
+                return truncated(i, count);
+            }
+            // A tagged record whose type disagrees with the announcement still gets the
+            // announced name, but not the pre-registered (typed) log handle.
+            boolean useDictionary = known && dictionary.typeTag(signalId) == tag;
+            String channel = known ? dictionary.entryName(signalId) : unnamedChannel(signalId);
+            int handle = useDictionary ? dictionary.logHandle(signalId) : TelemetryEvent.NO_HANDLE;
+            switch (tag) {
+                case TAG_DOUBLE -> sink.emitDouble(timestampUs, source, channel, frame.getDouble(pos), handle);
+                case TAG_FLOAT -> sink.emitDouble(timestampUs, source, channel, frame.getFloat(pos), handle);
+                case TAG_INTEGER -> sink.emitLong(timestampUs, source, channel, frame.getLong(pos), handle);
+                case TAG_BOOLEAN -> sink.emitBoolean(timestampUs, source, channel, frame.get(pos) != 0, handle);
+                default -> sink.emit(buildEvent(frame, pos, tag, source, channel, handle, timestampUs));
+            }
+            pos += valueSize;
+        }
+        return count;
+    }
+
+    private static int decodeAnnounce(ByteBuffer frame, int pos, int limit, int count) {
+        for (int i = 0; i < count; i++) {
+            if (pos + Short.BYTES + 1 + Short.BYTES > limit) {
+                return truncated(i, count);
+            }
+            int signalId = Short.toUnsignedInt(frame.getShort(pos));
+            byte tag = frame.get(pos + Short.BYTES);
+            pos += Short.BYTES + 1;
+            int nameLen = Short.toUnsignedInt(frame.getShort(pos));
+            pos += Short.BYTES;
+            if (pos + nameLen + Short.BYTES > limit) {
+                return truncated(i, count);
+            }
+            String name = readString(frame, pos, nameLen);
+            pos += nameLen;
+            int unitsLen = Short.toUnsignedInt(frame.getShort(pos));
+            pos += Short.BYTES;
+            if (pos + unitsLen > limit) {
+                return truncated(i, count);
+            }
+            String units = readString(frame, pos, unitsLen).trim();
+            pos += unitsLen;
+
+            TelemetryPayloadType payloadType = payloadType(tag);
+            if (payloadType == null || name.isBlank()) {
+                LOG.warn("Ignoring announcement for signal {} (tag {}, name '{}')", signalId, tag, name);
+                continue;
+            }
+            if (dictionary.announce(signalId, tag, payloadType, name.trim(), units)) {
+                LOG.info("Signal {} announced as {} ({})", signalId, dictionary.entryName(signalId), payloadType);
+            }
+        }
+        return count;
+    }
+
+    /** Event payload type produced for a binary type tag, or {@code null} if the tag is unknown. */
+    static TelemetryPayloadType payloadType(byte tag) {
+        return switch (tag) {
+            case TAG_DOUBLE, TAG_FLOAT -> TelemetryPayloadType.DOUBLE;
+            case TAG_INTEGER -> TelemetryPayloadType.INTEGER;
+            case TAG_BOOLEAN -> TelemetryPayloadType.BOOLEAN;
+            case TAG_STRING -> TelemetryPayloadType.STRING;
+            case TAG_RAW -> TelemetryPayloadType.RAW_BYTES;
+            case TAG_DOUBLE_ARRAY -> TelemetryPayloadType.DOUBLE_ARRAY;
+            case TAG_FLOAT_ARRAY -> TelemetryPayloadType.FLOAT_ARRAY;
+            case TAG_INTEGER_ARRAY -> TelemetryPayloadType.INTEGER_ARRAY;
+            case TAG_BOOLEAN_ARRAY -> TelemetryPayloadType.BOOLEAN_ARRAY;
+            default -> null;
+        };
+    }
+
+    /** Encoded size in bytes of the value starting at {@code pos}, or a negative value on error. */
+    private static int valueSize(ByteBuffer frame, int pos, int limit, byte tag) {
+        return switch (tag) {
+            case TAG_DOUBLE, TAG_INTEGER -> Long.BYTES;
+            case TAG_FLOAT -> Float.BYTES;
+            case TAG_BOOLEAN -> 1;
+            case TAG_STRING, TAG_RAW, TAG_BOOLEAN_ARRAY -> lengthPrefixedSize(frame, pos, limit, 1);
+            case TAG_FLOAT_ARRAY -> lengthPrefixedSize(frame, pos, limit, Float.BYTES);
+            case TAG_DOUBLE_ARRAY, TAG_INTEGER_ARRAY -> lengthPrefixedSize(frame, pos, limit, Long.BYTES);
+            default -> UNKNOWN_TAG;
+        };
+    }
+
+    private static int lengthPrefixedSize(ByteBuffer frame, int pos, int limit, int elementSize) {
+        if (pos + Short.BYTES > limit) {
+            return -1;
+        }
+        return Short.BYTES + Short.toUnsignedInt(frame.getShort(pos)) * elementSize;
+    }
+
+    /** Builds the event for a non-scalar record; scalars go straight to the sink's primitive emits. */
+    private static TelemetryEvent buildEvent(
+            ByteBuffer frame,
+            int pos,
+            byte tag,
+            TelemetrySource source,
+            String channel,
+            int handle,
+            long timestampUs) {
+
+        return switch (tag) {
+            case TAG_STRING -> new TelemetryEvent(
+                    timestampUs, source, TelemetryPayloadType.STRING, channel,
+                    new String(readBytes(frame, pos), StandardCharsets.UTF_8), null, handle);
+            case TAG_RAW -> new TelemetryEvent(
+                    timestampUs, source, TelemetryPayloadType.RAW_BYTES, channel, readBytes(frame, pos), null, handle);
+            case TAG_DOUBLE_ARRAY -> {
+                double[] values = new double[Short.toUnsignedInt(frame.getShort(pos))];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = frame.getDouble(pos + Short.BYTES + i * Double.BYTES);
+                }
+                yield new TelemetryEvent(timestampUs, source, TelemetryPayloadType.DOUBLE_ARRAY, channel, values, null, handle);
+            }
+            case TAG_FLOAT_ARRAY -> {
+                float[] values = new float[Short.toUnsignedInt(frame.getShort(pos))];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = frame.getFloat(pos + Short.BYTES + i * Float.BYTES);
+                }
+                yield new TelemetryEvent(timestampUs, source, TelemetryPayloadType.FLOAT_ARRAY, channel, values, null, handle);
+            }
+            case TAG_INTEGER_ARRAY -> {
+                long[] values = new long[Short.toUnsignedInt(frame.getShort(pos))];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = frame.getLong(pos + Short.BYTES + i * Long.BYTES);
+                }
+                yield new TelemetryEvent(timestampUs, source, TelemetryPayloadType.INTEGER_ARRAY, channel, values, null, handle);
+            }
+            case TAG_BOOLEAN_ARRAY -> {
+                boolean[] values = new boolean[Short.toUnsignedInt(frame.getShort(pos))];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = frame.get(pos + Short.BYTES + i) != 0;
+                }
+                yield new TelemetryEvent(timestampUs, source, TelemetryPayloadType.BOOLEAN_ARRAY, channel, values, null, handle);
+            }
+            default -> throw new IllegalStateException("unreachable tag " + tag);
+        };
+    }
+
+    /** Copies a {@code u16 length + bytes} value out of the frame so it outlives the pooled buffer. */
+    private static byte[] readBytes(ByteBuffer frame, int pos) {
+        byte[] bytes = new byte[Short.toUnsignedInt(frame.getShort(pos))];
+        frame.get(pos + Short.BYTES, bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer frame, int pos, int length) {
+        byte[] bytes = new byte[length];
+        frame.get(pos, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String unnamedChannel(int signalId) {
+        String name = unnamedChannels[signalId];
+        if (name == null) {
+            name = UNNAMED_CHANNEL_PREFIX + signalId;
+            unnamedChannels[signalId] = name;
+        }
+        return name;
+    }
+
+    private static int truncated(int decoded, int expected) {
+        LOG.warn("Truncated binary frame: decoded {} of {} records", decoded, expected);
+        return -1;
+    }
+}
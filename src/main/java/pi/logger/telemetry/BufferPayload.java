@@ -0,0 +1,37 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Event payload backed by a reusable (typically direct, pooled) byte buffer.
+ *
+ * <p>The buffer is only valid while the event is being processed.
+ * {@link TelemetryProcessor} calls {@link #release()} once every stage has
+ * seen the event (or when the event is dropped), after which the buffer may be
+ * overwritten by the next datagram. Stages must copy anything they need to keep.
+ */
+public interface BufferPayload {
+
+    /**
+     * Read-only view of the payload bytes, positioned at 0 with the limit at the
+     * payload length.
+     */
+    ByteBuffer buffer();
+
+    /** Returns the backing buffer to its owner. Safe to call more than once. */
+    void release();
+}
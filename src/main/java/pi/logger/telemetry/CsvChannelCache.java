@@ -0,0 +1,128 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.util.Arrays;
+
+/**
+ * Maps the raw signal-ID and units bytes of a CSV record to its interned WPILOG
+ * entry name, so steady-state records resolve their channel without building
+ * {@code "signal (units)"} strings.
+ *
+ * <p>Open-addressed table keyed by the bytes of both fields; a miss allocates the
+ * key and name once per distinct channel. Not thread-safe.
+ */
+final class CsvChannelCache {
+
+    /** Cached per-channel data derived from the signal ID and units. */
+    static final class Channel {
+        final String entryName;
+        /** Signal IDs containing "pose2d" are logged as a Pose2d struct. */
+        final boolean pose2d;
+        /** USB log handle for {@link #logHandleType}, resolved by {@link CsvTelemetryStage} on first use. */
+        int logHandle = TelemetryEvent.NO_HANDLE;
+        TelemetryPayloadType logHandleType;
+        private final byte[] signal;
+        private final byte[] units;
+        private final int hash;
+
+        private Channel(String entryName, boolean pose2d, byte[] signal, byte[] units, int hash) {
+            this.entryName = entryName;
+            this.pose2d = pose2d;
+            this.signal = signal;
+            this.units = units;
+            this.hash = hash;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int HASHED_SUFFIX = 16;
+
+    private Channel[] table = new Channel[INITIAL_CAPACITY];
+    private int size;
+
+    Channel lookup(byte[] buf, int signalStart, int signalEnd, int unitsStart, int unitsEnd) {
+        int hash = hash(buf, signalStart, signalEnd) * 31 + hash(buf, unitsStart, unitsEnd);
+        int mask = table.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            Channel channel = table[i];
+            if (channel == null) {
+                return insert(i, hash, buf, signalStart, signalEnd, unitsStart, unitsEnd);
+            }
+            if (channel.hash == hash
+                    && matches(channel.signal, buf, signalStart, signalEnd)
+                    && matches(channel.units, buf, unitsStart, unitsEnd)) {
+                return channel;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Channel insert(int slot, int hash, byte[] buf,
+                           int signalStart, int signalEnd, int unitsStart, int unitsEnd) {
+        String signalId = CsvValueParser.toString(buf, signalStart, signalEnd);
+        String units = CsvValueParser.toString(buf, unitsStart, unitsEnd);
+        String entryName = (units.isEmpty() ? signalId : signalId + " (" + units + ")").intern();
+        byte[] signalBytes = Arrays.copyOfRange(buf, signalStart, signalEnd);
+        byte[] unitsBytes = Arrays.copyOfRange(buf, unitsStart, unitsEnd);
+        Channel channel = new Channel(
+                entryName,
+                CsvValueParser.containsIgnoreCase(buf, signalStart, signalEnd, "pose2d"),
+                signalBytes,
+                unitsBytes,
+                hash);
+        table[slot] = channel;
+        if (++size * 2 > table.length) {
+            resize();
+        }
+        return channel;
+    }
+
+    private void resize() {
+        Channel[] old = table;
+        table = new Channel[old.length * 2];
+        int mask = table.length - 1;
+        for (Channel channel : old) {
+            if (channel == null) {
+                continue;
+            }
+            int i = channel.hash & mask;
+            while (table[i] != null) {
+                i = (i + 1) & mask;
+            }
+            table[i] = channel;
+        }
+    }
+
+    /**
+     * Hashes the length and the last {@value #HASHED_SUFFIX} bytes of a field.
+     * Signal IDs share long path prefixes, so the tail is what tells them apart;
+     * collisions only cost an extra full comparison.
+     */
+    private static int hash(byte[] buf, int start, int end) {
+        int h = end - start;
+        for (int i = Math.max(start, end - HASHED_SUFFIX); i < end; i++) {
+            h = h * 31 + buf[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(byte[] expected, byte[] buf, int start, int end) {
+        return Arrays.equals(expected, 0, expected.length, buf, start, end);
+    }
+}
@@ -0,0 +1,143 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Single-pass tokenizer for newline-delimited CSV telemetry records held in a
+ * byte buffer ({@code timestamp,signalID,type,value,units}).
+ *
+ * <p>Fields are exposed as trimmed {@code [start, end)} index pairs into
+ * {@link #bytes()}, so callers can parse them in place with {@link CsvValueParser}
+ * instead of materialising substrings. Heap buffers are read through their backing
+ * array; direct buffers (the pooled UDP receive path) are bulk-copied once per
+ * datagram into a reused scratch array, which is far cheaper than per-byte
+ * {@code ByteBuffer.get} calls and still allocates nothing. The units field, like
+ * the old {@code split(",", 5)}, runs to the end of the line and may itself
+ * contain commas.
+ *
+ * <p>Instances are reusable and not thread-safe.
+ */
+final class CsvRecordTokenizer {
+
+    static final int FIELD_TIMESTAMP = 0;
+    static final int FIELD_SIGNAL = 1;
+    static final int FIELD_TYPE = 2;
+    static final int FIELD_VALUE = 3;
+    static final int FIELD_UNITS = 4;
+    private static final int MAX_FIELDS = 5;
+
+    private final int[] starts = new int[MAX_FIELDS];
+    private final int[] ends = new int[MAX_FIELDS];
+    private byte[] scratch = new byte[2048];
+    private byte[] bytes;
+    private int position;
+    private int limit;
+    private int fieldCount;
+    private int recordStart;
+    private int recordEnd;
+
+    /** Starts tokenizing {@code buffer} between its position and limit. */
+    void reset(ByteBuffer buffer) {
+        int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            position = buffer.arrayOffset() + buffer.position();
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(buffer.position(), scratch, 0, length);
+            bytes = scratch;
+            position = 0;
+        }
+        limit = position + length;
+        fieldCount = 0;
+    }
+
+    /** The array that field indices refer to. */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * Advances to the next non-blank line. Returns {@code false} once the buffer is
+     * exhausted.
+     */
+    boolean nextRecord() {
+        while (position < limit) {
+            // One pass finds both the field separators and the end of the line.
+            int lineStart = position;
+            int count = 0;
+            int fieldStart = lineStart;
+            int i = lineStart;
+            for (; i < limit; i++) {
+                byte b = bytes[i];
+                if (b == '\n') {
+                    break;
+                }
+                if (b == ',' && count < MAX_FIELDS - 1) {
+                    starts[count] = fieldStart;
+                    ends[count++] = i;
+                    fieldStart = i + 1;
+                }
+            }
+            position = i + 1;
+            starts[count] = fieldStart;
+            ends[count++] = i;
+
+            recordStart = CsvValueParser.trimStart(bytes, lineStart, i);
+            recordEnd = CsvValueParser.trimEnd(bytes, recordStart, i);
+            if (recordStart == recordEnd) {
+                continue;
+            }
+            for (int field = 0; field < count; field++) {
+                int start = CsvValueParser.trimStart(bytes, starts[field], ends[field]);
+                starts[field] = start;
+                ends[field] = CsvValueParser.trimEnd(bytes, start, ends[field]);
+            }
+            fieldCount = count;
+            return true;
+        }
+        return false;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /** Trimmed start of {@code field}; for an absent field, equal to {@link #end}. */
+    int start(int field) {
+        return field < fieldCount ? starts[field] : recordEnd;
+    }
+
+    int end(int field) {
+        return field < fieldCount ? ends[field] : recordEnd;
+    }
+
+    boolean isEmpty(int field) {
+        return start(field) == end(field);
+    }
+
+    String fieldAsString(int field) {
+        return CsvValueParser.toString(bytes, start(field), end(field));
+    }
+
+    /** The whole current record, for diagnostics. */
+    String recordAsString() {
+        return CsvValueParser.toString(bytes, recordStart, recordEnd);
+    }
+}
@@ -15,8 +15,12 @@
 package pi.logger.telemetry;
 
 import edu.wpi.first.math.geometry.Pose2d;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import pi.logger.config.LoggerConfig;
 import pi.logger.csvparsers.Pose2dUtil;
+import pi.logger.datalog.USBFileLogger;
+import pi.logger.utils.FastNumberParser;
 import pi.logger.utils.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +30,7 @@ public final class CsvTelemetryStage implements TelemetryStage {
     private static final Logger LOG = LoggerFactory.getLogger(CsvTelemetryStage.class);
 
     /**
-     * When {@code true}, the timestamp parsed from the CSV payload (parts[0]) is used
+     * When {@code true}, the timestamp parsed from the CSV payload (first field) is used
      * as the WPILOG event timestamp.  When {@code false}, {@link TimeUtils#nowUs()} is
      * used instead (the Pi's local receive time).  Controlled by
      * {@code csv.usePayloadTimestamp} in {@code logger.properties}.
@@ -34,152 +38,171 @@ public final class CsvTelemetryStage implements TelemetryStage {
     private static final boolean USE_PAYLOAD_TIMESTAMP =
             LoggerConfig.getBoolean("csv.usePayloadTimestamp", true);
 
+    private final CsvRecordTokenizer tokenizer = new CsvRecordTokenizer();
+    private final CsvChannelCache channels = new CsvChannelCache();
+
     @Override
     public void apply(TelemetryContext context)
     {
         if (context.payloadType() != TelemetryPayloadType.CSV) {
             return;
         }
-        String payload = context.payloadAsString();
+        ByteBuffer payload = context.payloadAsBuffer();
         if (payload == null) {
-            return;
+            String text = context.payloadAsString();
+            if (text == null) {
+                return;
+            }
+            payload = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
         }
+        parse(payload, context.getEvent().source(), USE_PAYLOAD_TIMESTAMP, context);
+    }
 
-        // Parse CSV format: timestamp,signalID,type,value,units
-        String[] parts = payload.split(",", 5);
-        if (parts.length < 4) {
-            LOG.warn("Invalid message format: {}", payload);
-            return;
+    /**
+     * Tokenizes every newline-delimited record in {@code payload} and hands the
+     * resulting events to {@code sink}. A datagram may carry several records so
+     * senders can batch a whole robot loop into one packet. Fields are parsed in
+     * place from the buffer; the payload's position is not modified.
+     *
+     * <p>Package-private so tests and benchmarks can drive it without a running
+     * processor.</p>
+     *
+     * @return the number of events emitted
+     */
+    int parse(ByteBuffer payload,
+              TelemetrySource source,
+              boolean usePayloadTimestamp,
+              TelemetrySink sink) {
+        int emitted = 0;
+        tokenizer.reset(payload);
+        while (tokenizer.nextRecord()) {
+            // CSV format: timestamp,signalID,type,value,units
+            if (tokenizer.fieldCount() < 4) {
+                LOG.warn("Invalid message format: {}", tokenizer.recordAsString());
+                continue;
+            }
+            // Only parse (and only emit parse-error logs) when the result will actually be used.
+            long timestampMicros = usePayloadTimestamp
+                    ? TimeUtils.parseTimestampMicros(tokenizer.bytes(),
+                            tokenizer.start(CsvRecordTokenizer.FIELD_TIMESTAMP),
+                            tokenizer.end(CsvRecordTokenizer.FIELD_TIMESTAMP))
+                    : TimeUtils.nowUs();
+            CsvChannelCache.Channel channel = channels.lookup(
+                    tokenizer.bytes(),
+                    tokenizer.start(CsvRecordTokenizer.FIELD_SIGNAL),
+                    tokenizer.end(CsvRecordTokenizer.FIELD_SIGNAL),
+                    tokenizer.start(CsvRecordTokenizer.FIELD_UNITS),
+                    tokenizer.end(CsvRecordTokenizer.FIELD_UNITS));
+
+            if (emitRecord(tokenizer, channel, timestampMicros, source, sink)) {
+                emitted++;
+            }
         }
+        return emitted;
+    }
 
-        // Parse the CSV timestamp (parts[0]) as microseconds for the WPILOG file.
-        // Only parse (and only emit parse-error logs) when the result will actually be used.
-        long timestampMicros = USE_PAYLOAD_TIMESTAMP
-                ? TimeUtils.parseTimestampMicros(parts[0].trim())
-                : TimeUtils.nowUs();
-        String signalId = parts[1].trim();
-        String type = parts[2].trim();
-        String value = parts[3].trim();
-        String units = parts.length > 4 ? parts[4].trim() : "";
-        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
-
-        TelemetryEvent original = context.getEvent();
-
-        TelemetryEvent outEvent = buildEvent(original, timestampMicros, entryName, type, value, units, signalId);
-        if (outEvent != null) {
-            TelemetryProcessor.publish(outEvent);
+    /**
+     * USB log handle for {@code channel} logged as {@code type}, registered the first
+     * time the channel is seen with that type so steady-state records skip the by-name
+     * lookup. Channels that switch types re-register (and the log rejects the clash).
+     */
+    private static int logHandle(CsvChannelCache.Channel channel, TelemetryPayloadType type) {
+        if (channel.logHandleType != type) {
+            channel.logHandle = type == TelemetryPayloadType.STRUCT
+                    ? USBFileLogger.registerStructChannel(channel.entryName, Pose2d.struct)
+                    : USBFileLogger.registerChannel(channel.entryName, DataLogStage.dataLogType(type));
+            channel.logHandleType = type;
         }
+        return channel.logHandle;
     }
 
     /**
-     * Converts the parsed CSV fields into a typed {@link TelemetryEvent} that
-     * {@link DataLogStage} will write to the WPILOG file.  Returns {@code null}
-     * if the value cannot be parsed.
-     * <p>Package-private to allow direct testing without a running processor.</p>
+     * Emits the typed event for the tokenizer's current record, parsing the value
+     * straight from the buffer. Scalars use the sink's primitive emits so they
+     * allocate nothing. Returns {@code false} if the value cannot be parsed.
      */
-    static TelemetryEvent buildEvent(
-            TelemetryEvent original,
+    private static boolean emitRecord(
+            CsvRecordTokenizer tokenizer,
+            CsvChannelCache.Channel channel,
             long timestampMicros,
-            String entryName,
-            String type,
-            String value,
-            String units,
-            String signalId) {
+            TelemetrySource source,
+            TelemetrySink sink) {
 
-        try {
-            return switch (type.toLowerCase()) {
-                case "double", "float" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.DOUBLE,
-                        entryName,
-                        Double.parseDouble(value),
-                        null);
-
-                case "int", "integer", "long" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.INTEGER,
-                        entryName,
-                        Long.parseLong(value),
-                        null);
-
-                case "bool", "boolean" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.BOOLEAN,
-                        entryName,
-                        Boolean.parseBoolean(value) || "1".equals(value.trim()),
-                        null);
-
-                case "string" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.STRING,
-                        entryName,
-                        value,
-                        null);
-
-                case "bool_array" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.BOOLEAN_ARRAY,
-                        entryName,
-                        TelemetryArrayHelper.getBooleanArray(value),
-                        null);
-
-                case "int_array" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.INTEGER_ARRAY,
-                        entryName,
-                        TelemetryArrayHelper.getIntArray(value),
-                        null);
+        byte[] buf = tokenizer.bytes();
+        int typeStart = tokenizer.start(CsvRecordTokenizer.FIELD_TYPE);
+        int typeEnd = tokenizer.end(CsvRecordTokenizer.FIELD_TYPE);
+        int start = tokenizer.start(CsvRecordTokenizer.FIELD_VALUE);
+        int end = tokenizer.end(CsvRecordTokenizer.FIELD_VALUE);
+        String entryName = channel.entryName;
 
-                case "double_array" -> {
-                    if (signalId.toLowerCase().contains("pose2d")) {
-                        Pose2d pose = Pose2dUtil.fromString(value);
-                        yield new TelemetryEvent(
-                                timestampMicros,
-                                original.source(),
-                                TelemetryPayloadType.STRUCT,
-                                entryName,
-                                pose,
-                                Pose2d.struct);
-                    } else {
-                        yield new TelemetryEvent(
-                                timestampMicros,
-                                original.source(),
-                                TelemetryPayloadType.DOUBLE_ARRAY,
-                                entryName,
-                                TelemetryArrayHelper.getDoubleArray(value),
-                                null);
-                    }
-                }
-
-                case "float_array" -> new TelemetryEvent(
-                        timestampMicros,
-                        original.source(),
-                        TelemetryPayloadType.FLOAT_ARRAY,
-                        entryName,
-                        TelemetryArrayHelper.getFloatArray(value),
-                        null);
-
-                default -> {
-                    LOG.warn("Unknown CSV type: {} for entry: {} (falling back to STRING)", type, entryName);
-                    yield new TelemetryEvent(
-                            timestampMicros,
-                            original.source(),
-                            TelemetryPayloadType.STRING,
-                            entryName,
-                            value,
-                            null);
+        try {
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "double")
+                    || CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "float")) {
+                sink.emitDouble(timestampMicros, source, entryName,
+                        FastNumberParser.parseDouble(buf, start, end), logHandle(channel, TelemetryPayloadType.DOUBLE));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "int")
+                    || CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "integer")
+                    || CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "long")) {
+                sink.emitLong(timestampMicros, source, entryName,
+                        FastNumberParser.parseLong(buf, start, end), logHandle(channel, TelemetryPayloadType.INTEGER));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "bool")
+                    || CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "boolean")) {
+                sink.emitBoolean(timestampMicros, source, entryName,
+                        CsvValueParser.parseBoolean(buf, start, end), logHandle(channel, TelemetryPayloadType.BOOLEAN));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "string")) {
+                sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.STRING, entryName,
+                        CsvValueParser.toString(buf, start, end), null,
+                        logHandle(channel, TelemetryPayloadType.STRING)));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "bool_array")) {
+                sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.BOOLEAN_ARRAY, entryName,
+                        CsvValueParser.parseBooleanArray(buf, start, end), null,
+                        logHandle(channel, TelemetryPayloadType.BOOLEAN_ARRAY)));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "int_array")) {
+                sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.INTEGER_ARRAY, entryName,
+                        CsvValueParser.parseLongArray(buf, start, end), null,
+                        logHandle(channel, TelemetryPayloadType.INTEGER_ARRAY)));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "double_array")) {
+                double[] values = CsvValueParser.parseDoubleArray(buf, start, end);
+                if (channel.pose2d) {
+                    sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.STRUCT, entryName,
+                            Pose2dUtil.fromArray(values), Pose2d.struct,
+                            logHandle(channel, TelemetryPayloadType.STRUCT)));
+                    return true;
                 }
-            };
-        } catch (NumberFormatException e) {
-            LOG.warn("Failed to parse CSV value for type {}: {}", type, value);
-            return null;
+                sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.DOUBLE_ARRAY, entryName,
+                        values, null,
+                        logHandle(channel, TelemetryPayloadType.DOUBLE_ARRAY)));
+                return true;
+            }
+            if (CsvValueParser.equalsIgnoreCase(buf, typeStart, typeEnd, "float_array")) {
+                sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.FLOAT_ARRAY, entryName,
+                        CsvValueParser.parseFloatArray(buf, start, end), null,
+                        logHandle(channel, TelemetryPayloadType.FLOAT_ARRAY)));
+                return true;
+            }
+            LOG.warn("Unknown CSV type: {} for entry: {} (falling back to STRING)",
+                    tokenizer.fieldAsString(CsvRecordTokenizer.FIELD_TYPE), entryName);
+            sink.emit(new TelemetryEvent(timestampMicros, source, TelemetryPayloadType.STRING, entryName,
+                    CsvValueParser.toString(buf, start, end), null,
+                    logHandle(channel, TelemetryPayloadType.STRING)));
+            return true;
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Failed to parse CSV value for type {}: {}",
+                    tokenizer.fieldAsString(CsvRecordTokenizer.FIELD_TYPE),
+                    tokenizer.fieldAsString(CsvRecordTokenizer.FIELD_VALUE));
+            return false;
         }
     }
-
 }
@@ -0,0 +1,174 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.nio.charset.StandardCharsets;
+import pi.logger.utils.FastNumberParser;
+
+/**
+ * Parses CSV telemetry values directly from byte ranges of a UTF-8 array.
+ *
+ * <p>Ranges are {@code [start, end)} absolute indices and are trimmed of ASCII
+ * whitespace. Numbers are parsed in place by {@link FastNumberParser}; malformed
+ * input throws {@link NumberFormatException}.
+ *
+ * <p>Array values are {@code ';'}-separated. Like {@code String.split(";")},
+ * trailing empty elements are ignored and an empty value yields an empty array.
+ */
+final class CsvValueParser {
+
+    private static final byte ARRAY_SEPARATOR = ';';
+
+    private CsvValueParser() {}
+
+    static int trimStart(byte[] buf, int start, int end) {
+        while (start < end && isWhitespace(buf[start])) {
+            start++;
+        }
+        return start;
+    }
+
+    static int trimEnd(byte[] buf, int start, int end) {
+        while (end > start && isWhitespace(buf[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    static String toString(byte[] buf, int start, int end) {
+        return new String(buf, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /** Case-insensitive comparison of the range against a lower-case ASCII literal. */
+    static boolean equalsIgnoreCase(byte[] buf, int start, int end, String lowerAscii) {
+        if (end - start != lowerAscii.length()) {
+            return false;
+        }
+        for (int i = 0; i < lowerAscii.length(); i++) {
+            if (toLowerAscii(buf[start + i]) != lowerAscii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Case-insensitive search for a lower-case ASCII literal within the range. */
+    static boolean containsIgnoreCase(byte[] buf, int start, int end, String lowerAscii) {
+        int last = end - lowerAscii.length();
+        for (int i = start; i <= last; i++) {
+            if (equalsIgnoreCase(buf, i, i + lowerAscii.length(), lowerAscii)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int toLowerAscii(byte b) {
+        return (b >= 'A' && b <= 'Z') ? b + ('a' - 'A') : b;
+    }
+
+    // ---------------------------------------------------------------------------------
+    // Scalars
+    // ---------------------------------------------------------------------------------
+
+    /** {@code true} for "true" (any case) or "1"; anything else is {@code false}. */
+    static boolean parseBoolean(byte[] buf, int start, int end) {
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        return equalsIgnoreCase(buf, start, end, "true") || (end - start == 1 && buf[start] == '1');
+    }
+
+    // ---------------------------------------------------------------------------------
+    // Arrays
+    // ---------------------------------------------------------------------------------
+
+    /** Number of ';'-separated elements, ignoring trailing empty ones. */
+    static int elementCount(byte[] buf, int start, int end) {
+        end = trimmedArrayEnd(buf, start, end);
+        if (start >= end) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (buf[i] == ARRAY_SEPARATOR) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** End of the array value once trailing separators (and whitespace) are dropped. */
+    private static int trimmedArrayEnd(byte[] buf, int start, int end) {
+        while (end > start) {
+            byte b = buf[end - 1];
+            if (b != ARRAY_SEPARATOR && !isWhitespace(b)) {
+                break;
+            }
+            end--;
+        }
+        return end;
+    }
+
+    private static int elementEnd(byte[] buf, int from, int end) {
+        while (from < end && buf[from] != ARRAY_SEPARATOR) {
+            from++;
+        }
+        return from;
+    }
+
+    static double[] parseDoubleArray(byte[] buf, int start, int end) {
+        double[] result = new double[elementCount(buf, start, end)];
+        for (int i = 0, pos = start; i < result.length; i++) {
+            int elementEnd = elementEnd(buf, pos, end);
+            result[i] = FastNumberParser.parseDouble(buf, pos, elementEnd);
+            pos = elementEnd + 1;
+        }
+        return result;
+    }
+
+    static float[] parseFloatArray(byte[] buf, int start, int end) {
+        float[] result = new float[elementCount(buf, start, end)];
+        for (int i = 0, pos = start; i < result.length; i++) {
+            int elementEnd = elementEnd(buf, pos, end);
+            result[i] = FastNumberParser.parseFloat(buf, pos, elementEnd);
+            pos = elementEnd + 1;
+        }
+        return result;
+    }
+
+    static long[] parseLongArray(byte[] buf, int start, int end) {
+        long[] result = new long[elementCount(buf, start, end)];
+        for (int i = 0, pos = start; i < result.length; i++) {
+            int elementEnd = elementEnd(buf, pos, end);
+            result[i] = FastNumberParser.parseLong(buf, pos, elementEnd);
+            pos = elementEnd + 1;
+        }
+        return result;
+    }
+
+    static boolean[] parseBooleanArray(byte[] buf, int start, int end) {
+        boolean[] result = new boolean[elementCount(buf, start, end)];
+        for (int i = 0, pos = start; i < result.length; i++) {
+            int elementEnd = elementEnd(buf, pos, end);
+            result[i] = parseBoolean(buf, pos, elementEnd);
+            pos = elementEnd + 1;
+        }
+        return result;
+    }
+}
@@ -37,65 +37,132 @@ public final class DataLogStage implements TelemetryStage {
             case INTEGER_ARRAY -> logIntegerArray(event);
             case DOUBLE_ARRAY -> logDoubleArray(event);
             case FLOAT_ARRAY -> logFloatArray(event);
+            case RAW_BYTES -> logRaw(event);
             default -> {
                 // ignore unsupported types here
             }
         }
     }
 
+    /**
+     * WPILOG entry type string written for a payload type, or {@code null} for types
+     * that are not written directly (CSV/BINARY envelopes, structs).
+     */
+    static String dataLogType(TelemetryPayloadType type) {
+        return switch (type) {
+            case DOUBLE -> "double";
+            case INTEGER -> "int64";
+            case BOOLEAN -> "boolean";
+            case STRING -> "string";
+            case RAW_BYTES -> "raw";
+            case BOOLEAN_ARRAY -> "boolean[]";
+            case INTEGER_ARRAY -> "int64[]";
+            case DOUBLE_ARRAY -> "double[]";
+            case FLOAT_ARRAY -> "float[]";
+            default -> null;
+        };
+    }
+
+    // Events carrying a channel handle (announced UDP signals, CSV channels, NT topics)
+    // resolve their entry by index; everything else falls back to the by-name API. Scalars are
+    // read from the event's primitive slot, so nothing is boxed on the way to the log.
+
     private void logDouble(TelemetryEvent event) {
-        Object payload = event.payload();
-        if (payload instanceof Number number) {
-            USBFileLogger.logDouble(event.channel(), number.doubleValue(), event.timestampUs());
+        if (!event.hasScalar()) {
+            return;
+        }
+        if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+            USBFileLogger.logDouble(event.channelHandle(), event.doubleValue(), event.timestampUs());
+        } else {
+            USBFileLogger.logDouble(event.channel(), event.doubleValue(), event.timestampUs());
         }
     }
 
     private void logInteger(TelemetryEvent event) {
-        Object payload = event.payload();
-        if (payload instanceof Number number) {
-            USBFileLogger.logInteger(event.channel(), number.longValue(), event.timestampUs());
+        if (!event.hasScalar()) {
+            return;
+        }
+        if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+            USBFileLogger.logInteger(event.channelHandle(), event.longValue(), event.timestampUs());
+        } else {
+            USBFileLogger.logInteger(event.channel(), event.longValue(), event.timestampUs());
         }
     }
 
     private void logBoolean(TelemetryEvent event) {
-        Object payload = event.payload();
-        if (payload instanceof Boolean bool) {
-            USBFileLogger.logBoolean(event.channel(), bool, event.timestampUs());
+        if (!event.hasScalar()) {
+            return;
+        }
+        if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+            USBFileLogger.logBoolean(event.channelHandle(), event.booleanValue(), event.timestampUs());
+        } else {
+            USBFileLogger.logBoolean(event.channel(), event.booleanValue(), event.timestampUs());
         }
     }
 
     private void logString(TelemetryEvent event) {
         Object payload = event.payload();
         if (payload != null) {
-            USBFileLogger.logString(event.channel(), payload.toString(), event.timestampUs());
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logString(event.channelHandle(), payload.toString(), event.timestampUs());
+            } else {
+                USBFileLogger.logString(event.channel(), payload.toString(), event.timestampUs());
+            }
         }
     }
 
     private void logBooleanArray(TelemetryEvent event) {
         Object payload = event.payload();
         if (payload instanceof boolean[] boolArray) {
-            USBFileLogger.logBooleanArray(event.channel(), boolArray, event.timestampUs());
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logBooleanArray(event.channelHandle(), boolArray, event.timestampUs());
+            } else {
+                USBFileLogger.logBooleanArray(event.channel(), boolArray, event.timestampUs());
+            }
         }
     }
 
     private void logIntegerArray(TelemetryEvent event) {
         Object payload = event.payload();
         if (payload instanceof long[] longArray) {
-            USBFileLogger.logIntegerArray(event.channel(), longArray, event.timestampUs());
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logIntegerArray(event.channelHandle(), longArray, event.timestampUs());
+            } else {
+                USBFileLogger.logIntegerArray(event.channel(), longArray, event.timestampUs());
+            }
         }
     }
 
     private void logDoubleArray(TelemetryEvent event) {
         Object payload = event.payload();
         if (payload instanceof double[] doubleArray) {
-            USBFileLogger.logDoubleArray(event.channel(), doubleArray, event.timestampUs());
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logDoubleArray(event.channelHandle(), doubleArray, event.timestampUs());
+            } else {
+                USBFileLogger.logDoubleArray(event.channel(), doubleArray, event.timestampUs());
+            }
         }
     }
 
     private void logFloatArray(TelemetryEvent event) {
         Object payload = event.payload();
         if (payload instanceof float[] floatArray) {
-            USBFileLogger.logFloatArray(event.channel(), floatArray, event.timestampUs());
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logFloatArray(event.channelHandle(), floatArray, event.timestampUs());
+            } else {
+                USBFileLogger.logFloatArray(event.channel(), floatArray, event.timestampUs());
+            }
+        }
+    }
+
+    private void logRaw(TelemetryEvent event) {
+        Object payload = event.payload();
+        if (payload instanceof byte[] bytes) {
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logRaw(event.channelHandle(), bytes, event.timestampUs());
+            } else {
+                USBFileLogger.logRaw(event.channel(), bytes, event.timestampUs());
+            }
         }
     }
 
@@ -105,7 +172,11 @@ public final class DataLogStage implements TelemetryStage {
         if (struct == null || event.payload() == null) {
             return;
         }
-        USBFileLogger.logStructEntry(event.channel(), event.payload(), struct, event.timestampUs());
+        if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+            USBFileLogger.logStruct(event.channelHandle(), event.payload(), event.timestampUs());
+        } else {
+            USBFileLogger.logStructEntry(event.channel(), event.payload(), struct, event.timestampUs());
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -116,7 +187,11 @@ public final class DataLogStage implements TelemetryStage {
         }
         Object payload = event.payload();
         if (payload instanceof Object[] array) {
-            USBFileLogger.logStructArray(event.channel(), array, struct, event.timestampUs());
+            if (event.channelHandle() != TelemetryEvent.NO_HANDLE) {
+                USBFileLogger.logStructArray(event.channelHandle(), array, event.timestampUs());
+            } else {
+                USBFileLogger.logStructArray(event.channel(), array, struct, event.timestampUs());
+            }
         }
     }
 }
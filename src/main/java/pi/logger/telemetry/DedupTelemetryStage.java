@@ -0,0 +1,229 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import edu.wpi.first.util.struct.Struct;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import pi.logger.config.LoggerConfig;
+import pi.logger.utils.Globs;
+
+/**
+ * Drops events whose value equals the last one let through for the same channel,
+ * so signals republished at a fixed rate (NT drive state every 20 ms, CSV senders
+ * repeating themselves) only cost file space when they change.
+ *
+ * <p>An unchanged value still goes through once every {@code telemetry.dedupKeyframeMs}
+ * of event time, so plots keep points and a file started mid-way has every channel
+ * early on. Register it after the parsing stages and before {@link DataLogStage}.
+ * Only channels matching a {@code telemetry.dedupChannels} glob are deduplicated, and
+ * never the logger's own audit channels ({@code NT/Topics}, {@code NT/TimeSync/**}),
+ * where a repeated record is an event in its own right.
+ * Channels are tracked by handle when the event has one and by name otherwise.
+ * Arrays are compared element by element and structs by their packed bytes; array
+ * payloads are kept by reference, which relies on producers handing over fresh arrays
+ * as {@link pi.logger.datalog.USBFileLogger} already requires.
+ */
+public final class DedupTelemetryStage implements TelemetryStage {
+
+    private static final long KEYFRAME_US =
+            LoggerConfig.getLong("telemetry.dedupKeyframeMs", 1000, 0) * 1000;
+
+    /** Channels whose every record is kept, whatever {@code telemetry.dedupChannels} says. */
+    private static final List<Pattern> EXEMPT = List.of(
+            Globs.toPattern("NT/Topics"),
+            Globs.toPattern("NT/TimeSync/**"));
+
+    private static volatile long suppressedEvents = 0;
+
+    /** Last value let through on one channel. */
+    private static final class LastValue {
+        /** Set once when the channel is first seen. */
+        boolean exempt;
+        TelemetryPayloadType type;
+        long bits;
+        Object value;
+        byte[] packed;
+        int packedLength;
+        long timestampUs;
+    }
+
+    private final List<Pattern> channels;
+    private LastValue[] byHandle = new LastValue[64];
+    private final Map<String, LastValue> byName = new HashMap<>();
+    private ByteBuffer scratch = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+
+    public DedupTelemetryStage() {
+        this(LoggerConfig.getString("telemetry.dedupChannels", "**"));
+    }
+
+    /** @param channels comma-separated globs of the channels to deduplicate */
+    DedupTelemetryStage(String channels) {
+        this.channels = new ArrayList<>();
+        for (String glob : channels.split(",")) {
+            if (!glob.isBlank()) {
+                this.channels.add(Globs.toPattern(glob.trim()));
+            }
+        }
+    }
+
+    /** Events dropped as unchanged since startup. */
+    public static long getSuppressedCount() {
+        return suppressedEvents;
+    }
+
+    @Override
+    public void apply(TelemetryContext context) {
+        TelemetryEvent event = context.getEvent();
+        if (event == null) {
+            return;
+        }
+        TelemetryPayloadType type = event.payloadType();
+        if (type == TelemetryPayloadType.CSV || type == TelemetryPayloadType.BINARY
+                || (isScalar(type) && !event.hasScalar()) || (!isScalar(type) && event.payload() == null)) {
+            return;
+        }
+        LastValue last = lastValue(event);
+        if (last.exempt) {
+            return;
+        }
+        long sinceLastUs = event.timestampUs() - last.timestampUs;
+        if (last.type == type && sinceLastUs >= 0 && sinceLastUs < KEYFRAME_US && unchanged(last, event)) {
+            suppressedEvents++;
+            context.drop();
+            return;
+        }
+        remember(last, event);
+    }
+
+    private LastValue lastValue(TelemetryEvent event) {
+        int handle = event.channelHandle();
+        if (handle == TelemetryEvent.NO_HANDLE) {
+            return byName.computeIfAbsent(event.channel(), this::newLastValue);
+        }
+        if (handle >= byHandle.length) {
+            byHandle = Arrays.copyOf(byHandle, Math.max(handle + 1, byHandle.length * 2));
+        }
+        LastValue last = byHandle[handle];
+        if (last == null) {
+            last = newLastValue(event.channel());
+            byHandle[handle] = last;
+        }
+        return last;
+    }
+
+    private LastValue newLastValue(String channel) {
+        LastValue last = new LastValue();
+        last.exempt = !matchesAny(channels, channel) || matchesAny(EXEMPT, channel);
+        return last;
+    }
+
+    private static boolean matchesAny(List<Pattern> patterns, String channel) {
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(channel).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean unchanged(LastValue last, TelemetryEvent event) {
+        return switch (event.payloadType()) {
+            case DOUBLE -> last.bits == Double.doubleToRawLongBits(event.doubleValue());
+            case INTEGER -> last.bits == event.longValue();
+            case BOOLEAN -> last.bits == (event.booleanValue() ? 1 : 0);
+            case STRING -> Objects.equals(last.value, event.payload().toString());
+            case RAW_BYTES -> event.payload() instanceof byte[] a
+                    && last.value instanceof byte[] b && Arrays.equals(a, b);
+            case BOOLEAN_ARRAY -> event.payload() instanceof boolean[] a
+                    && last.value instanceof boolean[] b && Arrays.equals(a, b);
+            case DOUBLE_ARRAY -> event.payload() instanceof double[] a
+                    && last.value instanceof double[] b && Arrays.equals(a, b);
+            case INTEGER_ARRAY -> event.payload() instanceof long[] a
+                    && last.value instanceof long[] b && Arrays.equals(a, b);
+            case FLOAT_ARRAY -> event.payload() instanceof float[] a
+                    && last.value instanceof float[] b && Arrays.equals(a, b);
+            case STRUCT, STRUCT_ARRAY -> {
+                int length = pack(event);
+                yield length >= 0 && length == last.packedLength
+                        && Arrays.equals(scratch.array(), 0, length, last.packed, 0, length);
+            }
+            default -> false;
+        };
+    }
+
+    private void remember(LastValue last, TelemetryEvent event) {
+        TelemetryPayloadType type = event.payloadType();
+        last.type = type;
+        last.timestampUs = event.timestampUs();
+        last.value = null;
+        switch (type) {
+            case DOUBLE -> last.bits = Double.doubleToRawLongBits(event.doubleValue());
+            case INTEGER -> last.bits = event.longValue();
+            case BOOLEAN -> last.bits = event.booleanValue() ? 1 : 0;
+            case STRING -> last.value = event.payload().toString();
+            case STRUCT, STRUCT_ARRAY -> {
+                int length = pack(event);
+                if (length < 0) {
+                    last.type = null; // not comparable; never suppress
+                    return;
+                }
+                if (last.packed == null || last.packed.length < length) {
+                    last.packed = new byte[length];
+                }
+                System.arraycopy(scratch.array(), 0, last.packed, 0, length);
+                last.packedLength = length;
+            }
+            default -> last.value = event.payload();
+        }
+    }
+
+    /** Packs a struct or struct array event into {@link #scratch}; returns its length, or -1 if it has no schema. */
+    @SuppressWarnings("unchecked")
+    private int pack(TelemetryEvent event) {
+        Struct<Object> struct = (Struct<Object>) event.structSchema();
+        if (struct == null) {
+            return -1;
+        }
+        Object payload = event.payload();
+        Object[] values = payload instanceof Object[] array ? array : null;
+        int length = struct.getSize() * (values != null ? values.length : 1);
+        if (scratch.capacity() < length) {
+            scratch = ByteBuffer.allocate(Math.max(length, scratch.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        scratch.clear();
+        if (values != null) {
+            for (Object value : values) {
+                struct.pack(scratch, value);
+            }
+        } else {
+            struct.pack(scratch, payload);
+        }
+        return length;
+    }
+
+    private static boolean isScalar(TelemetryPayloadType type) {
+        return type == TelemetryPayloadType.DOUBLE
+                || type == TelemetryPayloadType.INTEGER
+                || type == TelemetryPayloadType.BOOLEAN;
+    }
+}
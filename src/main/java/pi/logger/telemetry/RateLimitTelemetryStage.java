@@ -0,0 +1,341 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import edu.wpi.first.util.struct.Struct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import pi.logger.config.LoggerConfig;
+import pi.logger.utils.Globs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caps how often matching channels reach the stages after it, so a 250 Hz signal can
+ * be logged at 50 Hz and a runaway sender cannot flood the USB write queue that every
+ * other channel shares.
+ *
+ * <p>Rules come from {@code telemetry.rateLimits} as a comma-separated list of
+ * {@code <glob>=<maxHz>[:<mode>]}, for example
+ * {@code /Vision/**=50:mean, udp/signal/1?=100}. In globs {@code *} matches within
+ * one {@code /}-separated level, {@code **} across levels and {@code ?} one character;
+ * the first matching rule wins. Each channel is cut into windows of {@code 1/maxHz}
+ * (event time, starting at the window's first sample).
+ *
+ * <p>With {@code last} (the default, and for anything but numeric scalars) the first
+ * event of a window passes straight through, so a lone value such as a state change is
+ * written at once. Later events in the window are held back, keeping only the newest,
+ * and that one is written when the window ends; it then counts as the first sample of
+ * the next window. With {@code min}, {@code max} or {@code mean} the window's aggregate
+ * is written when it ends. A window ends when an event past it arrives or, for a channel
+ * that has gone quiet, on the processor's {@link #tick tick} once its time has passed on
+ * the local clock. Written samples keep the timestamp of their window's last event.
+ * Held-back events that are never written are counted per channel in
+ * {@link #getDroppedCounts()}.
+ */
+public final class RateLimitTelemetryStage implements TelemetryStage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimitTelemetryStage.class);
+
+    enum Mode {
+        LAST,
+        MIN,
+        MAX,
+        MEAN
+    }
+
+    record Rule(String glob, Pattern pattern, long periodUs, Mode mode) {}
+
+    /** One channel's current window. */
+    private static final class Window {
+        final Rule rule;
+        /** A window is in progress; {@link #holding} says whether it has a sample to write. */
+        boolean open;
+        boolean aggregating;
+        long startUs;
+        long endUs;
+        /** {@link System#nanoTime()} by which a quiet channel's window is ended by {@link #tick}. */
+        long deadlineNanos;
+        boolean holding;
+        TelemetryPayloadType type;
+        TelemetrySource source;
+        String channel;
+        int channelHandle;
+        long timestampUs;
+        long bits;
+        Object payload;
+        Struct<?> structSchema;
+        double min;
+        double max;
+        double sum;
+        long count;
+        volatile long dropped;
+
+        Window(Rule rule) {
+            this.rule = rule;
+        }
+    }
+
+    /** Every limited channel's window, for {@link #getDroppedCounts()}. */
+    private static final Map<String, Window> windowsByChannel = new ConcurrentHashMap<>();
+    /** Marks channels that matched no rule. */
+    private static final Window UNLIMITED = new Window(null);
+
+    private final List<Rule> rules;
+    private Window[] byHandle = new Window[64];
+    private final Map<String, Window> byName = new HashMap<>();
+    /** This stage's limited channels, for {@link #tick}. */
+    private final List<Window> windows = new ArrayList<>();
+
+    public RateLimitTelemetryStage() {
+        this(LoggerConfig.getString("telemetry.rateLimits", ""));
+    }
+
+    RateLimitTelemetryStage(String spec) {
+        this.rules = parseRules(spec);
+        for (Rule rule : rules) {
+            LOG.info("Rate limit: {} at {} Hz ({})", rule.glob(), 1_000_000.0 / rule.periodUs(),
+                    rule.mode().name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /** Events not written because they fell in an already-occupied window, by channel. */
+    public static Map<String, Long> getDroppedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        windowsByChannel.forEach((channel, window) -> counts.put(channel, window.dropped));
+        return Collections.unmodifiableMap(counts);
+    }
+
+    @Override
+    public void apply(TelemetryContext context) {
+        TelemetryEvent event = context.getEvent();
+        if (event != null && limit(event, context)) {
+            context.drop();
+        }
+    }
+
+    @Override
+    public void tick(TelemetrySink sink) {
+        tick(sink, System.nanoTime());
+    }
+
+    /** Ends the windows of channels that went quiet before {@code nowNanos}. */
+    void tick(TelemetrySink sink, long nowNanos) {
+        for (Window window : windows) {
+            if (window.open && nowNanos - window.deadlineNanos >= 0) {
+                end(window, sink);
+            }
+        }
+    }
+
+    boolean limit(TelemetryEvent event, TelemetrySink sink) {
+        return limit(event, sink, System.nanoTime());
+    }
+
+    /**
+     * Folds {@code event} into its channel's window, first sending the window's sample
+     * to {@code sink} if this event is past it.
+     *
+     * @return {@code true} if the event was absorbed and must not be passed on
+     */
+    boolean limit(TelemetryEvent event, TelemetrySink sink, long nowNanos) {
+        TelemetryPayloadType type = event.payloadType();
+        if (rules.isEmpty() || type == TelemetryPayloadType.CSV || type == TelemetryPayloadType.BINARY) {
+            return false;
+        }
+        Window window = window(event);
+        if (window == UNLIMITED) {
+            return false;
+        }
+        long timestampUs = event.timestampUs();
+        if (window.open && (timestampUs < window.startUs || window.type != type)) {
+            // Out of order or retyped: write what is held and start afresh.
+            if (window.holding) {
+                emit(window, sink);
+            }
+            window.open = false;
+        }
+        while (window.open && timestampUs >= window.endUs) {
+            end(window, sink);
+        }
+        if (!window.open) {
+            window.open = true;
+            window.aggregating = window.rule.mode() != Mode.LAST
+                    && (type == TelemetryPayloadType.DOUBLE || type == TelemetryPayloadType.INTEGER);
+            window.type = type;
+            window.startUs = timestampUs;
+            window.endUs = timestampUs + window.rule.periodUs();
+            window.deadlineNanos = nowNanos + window.rule.periodUs() * 1000;
+            window.count = 0;
+            window.sum = 0;
+            window.min = Double.POSITIVE_INFINITY;
+            window.max = Double.NEGATIVE_INFINITY;
+            if (!window.aggregating) {
+                return false;
+            }
+        } else if (window.holding) {
+            window.dropped++;
+        }
+        hold(window, event);
+        return true;
+    }
+
+    /**
+     * Writes the window's sample, if it holds one. A written {@code last} sample
+     * stands in for the first event of the following window, which then stays open.
+     */
+    private static void end(Window window, TelemetrySink sink) {
+        if (!window.holding) {
+            window.open = false;
+            return;
+        }
+        emit(window, sink);
+        if (window.aggregating) {
+            window.open = false;
+            return;
+        }
+        window.startUs = window.endUs;
+        window.endUs += window.rule.periodUs();
+        window.deadlineNanos += window.rule.periodUs() * 1000;
+    }
+
+    private Window window(TelemetryEvent event) {
+        int handle = event.channelHandle();
+        Window window;
+        if (handle == TelemetryEvent.NO_HANDLE) {
+            window = byName.get(event.channel());
+        } else {
+            if (handle >= byHandle.length) {
+                byHandle = Arrays.copyOf(byHandle, Math.max(handle + 1, byHandle.length * 2));
+            }
+            window = byHandle[handle];
+        }
+        if (window != null) {
+            return window;
+        }
+        Rule rule = match(event.channel());
+        window = rule == null ? UNLIMITED : new Window(rule);
+        if (rule != null) {
+            windowsByChannel.put(event.channel(), window);
+            windows.add(window);
+        }
+        if (handle == TelemetryEvent.NO_HANDLE) {
+            byName.put(event.channel(), window);
+        } else {
+            byHandle[handle] = window;
+        }
+        return window;
+    }
+
+    private Rule match(String channel) {
+        for (Rule rule : rules) {
+            if (rule.pattern().matcher(channel).matches()) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static void hold(Window window, TelemetryEvent event) {
+        TelemetryPayloadType type = event.payloadType();
+        window.holding = true;
+        window.type = type;
+        window.source = event.source();
+        window.channel = event.channel();
+        window.channelHandle = event.channelHandle();
+        window.timestampUs = event.timestampUs();
+        window.structSchema = event.structSchema();
+        if (event.hasScalar()) {
+            window.payload = null;
+            window.bits = type == TelemetryPayloadType.DOUBLE
+                    ? Double.doubleToRawLongBits(event.doubleValue())
+                    : event.longValue();
+            if (type != TelemetryPayloadType.BOOLEAN) {
+                double value = event.doubleValue();
+                window.min = Math.min(window.min, value);
+                window.max = Math.max(window.max, value);
+                window.sum += value;
+                window.count++;
+            }
+        } else {
+            window.payload = event.payload();
+        }
+    }
+
+    private static void emit(Window window, TelemetrySink sink) {
+        window.holding = false;
+        long timestampUs = window.timestampUs;
+        switch (window.type) {
+            case DOUBLE -> sink.emitDouble(timestampUs, window.source, window.channel,
+                    aggregate(window, Double.longBitsToDouble(window.bits)), window.channelHandle);
+            case INTEGER -> sink.emitLong(timestampUs, window.source, window.channel,
+                    window.rule.mode() == Mode.LAST ? window.bits : Math.round(aggregate(window, window.bits)),
+                    window.channelHandle);
+            case BOOLEAN -> sink.emitBoolean(timestampUs, window.source, window.channel,
+                    window.bits != 0, window.channelHandle);
+            default -> sink.emit(new TelemetryEvent(timestampUs, window.source, window.type, window.channel,
+                    window.payload, window.structSchema, window.channelHandle));
+        }
+        window.payload = null;
+    }
+
+    private static double aggregate(Window window, double last) {
+        return switch (window.rule.mode()) {
+            case LAST -> last;
+            case MIN -> window.min;
+            case MAX -> window.max;
+            case MEAN -> window.sum / window.count;
+        };
+    }
+
+    /** Parses {@code telemetry.rateLimits}; malformed rules are logged and skipped. */
+    static List<Rule> parseRules(String spec) {
+        List<Rule> rules = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            return rules;
+        }
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.lastIndexOf('=');
+            try {
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("expected <glob>=<maxHz>[:<mode>]");
+                }
+                String glob = trimmed.substring(0, eq).trim();
+                String[] rate = trimmed.substring(eq + 1).split(":", 2);
+                double maxHz = Double.parseDouble(rate[0].trim());
+                if (!(maxHz > 0)) {
+                    throw new IllegalArgumentException("maxHz must be positive");
+                }
+                Mode mode = rate.length > 1 ? Mode.valueOf(rate[1].trim().toUpperCase(Locale.ROOT)) : Mode.LAST;
+                rules.add(new Rule(glob, Globs.toPattern(glob), Math.max(1, Math.round(1_000_000 / maxHz)), mode));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring rate limit '{}': {}", trimmed, e.getMessage());
+            }
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,71 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import pi.logger.datalog.USBFileLogger;
+
+/**
+ * Signal ID dictionary populated from binary announce frames.
+ *
+ * <p>A sender announces each signal once ({@code id -> name, type, units}); afterwards
+ * its data records only carry the numeric ID. The dictionary interns the WPILOG entry
+ * name (built the same way as CSV entries, {@code "name (units)"}) and registers it
+ * with {@link USBFileLogger} so appends can find the entry by array index.
+ *
+ * <p>Only accessed from the telemetry processor thread, so plain arrays are used.
+ */
+final class SignalDictionary {
+
+    static final int MAX_SIGNAL_ID = 0xFFFF;
+
+    private final String[] entryNames = new String[MAX_SIGNAL_ID + 1];
+    private final byte[] typeTags = new byte[MAX_SIGNAL_ID + 1];
+    private final int[] logHandles = new int[MAX_SIGNAL_ID + 1];
+
+    /**
+     * Records (or replaces) the definition of {@code signalId}.
+     *
+     * @return true if the definition changed
+     */
+    boolean announce(int signalId, byte typeTag, TelemetryPayloadType payloadType, String name, String units) {
+        String entryName = units.isEmpty() ? name : name + " (" + units + ")";
+        if (typeTag == typeTags[signalId] && entryName.equals(entryNames[signalId])) {
+            return false;
+        }
+        entryNames[signalId] = entryName.intern();
+        typeTags[signalId] = typeTag;
+        logHandles[signalId] = USBFileLogger.registerChannel(entryName, DataLogStage.dataLogType(payloadType));
+        return true;
+    }
+
+    boolean isKnown(int signalId) {
+        return entryNames[signalId] != null;
+    }
+
+    /** Entry name for an announced signal, or {@code null} if unknown. */
+    String entryName(int signalId) {
+        return entryNames[signalId];
+    }
+
+    /** Binary type tag for an announced signal; only meaningful if {@link #isKnown}. */
+    byte typeTag(int signalId) {
+        return typeTags[signalId];
+    }
+
+    /** {@link USBFileLogger} channel handle for an announced signal. */
+    int logHandle(int signalId) {
+        return logHandles[signalId];
+    }
+}
@@ -0,0 +1,67 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+/**
+ * Invocation count and timing for one telemetry stage (or, for
+ * {@link TelemetryProcessor#getEndToEndMetrics()}, for whole events, and for other
+ * timed operations such as USB flushes). Written by a single thread; read by the
+ * health publisher.
+ */
+public final class StageMetrics {
+    private final String name;
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private volatile long invocations;
+    private volatile long totalNanos;
+    private volatile long maxNanos;
+
+    public StageMetrics(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        invocations++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+        histogram.record(nanos);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long invocations() {
+        return invocations;
+    }
+
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    public double averageNanos() {
+        long count = invocations;
+        return count == 0 ? 0.0 : (double) totalNanos / count;
+    }
+
+    public LatencyHistogram histogram() {
+        return histogram;
+    }
+}
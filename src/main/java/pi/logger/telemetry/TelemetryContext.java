@@ -14,20 +14,55 @@
 //====================================================================================================================================================
 package pi.logger.telemetry;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
-public final class TelemetryContext {
-    private final TelemetryEvent event;
-    private final Map<String, Object> attributes = new HashMap<>();
+/**
+ * Per-event state for one pass through the stage chain.
+ *
+ * <p>Events a stage {@link #emit emits} are run through the stages after it
+ * immediately, on the processor thread, instead of being published back onto the
+ * ring. Contexts created with the public constructor are not attached to a pass;
+ * their emitted events fall back to {@link TelemetryProcessor#publish}.
+ */
+public final class TelemetryContext implements TelemetrySink {
+    private static final int DETACHED = -1;
+
+    private TelemetryEvent event;
+    private Map<String, Object> attributes;
     private String cachedStringPayload;
+    /** Index of the stage currently applying, or {@link #DETACHED}. */
+    private int stageIndex = DETACHED;
+    private int depth;
+    private boolean dropped;
+    /** Reused for scalar emits so they allocate nothing. */
+    private final TelemetryEvent scratch = new TelemetryEvent();
 
     public TelemetryContext(TelemetryEvent event) {
         this.event = event;
     }
 
+    /** Pooled context owned by {@link TelemetryProcessor}. */
+    TelemetryContext() {
+    }
+
+    void reset(TelemetryEvent event, int depth) {
+        this.event = event;
+        this.depth = depth;
+        this.cachedStringPayload = null;
+        this.dropped = false;
+        if (attributes != null) {
+            attributes.clear();
+        }
+    }
+
+    void setStageIndex(int stageIndex) {
+        this.stageIndex = stageIndex;
+    }
+
     public TelemetryEvent getEvent() {
         return event;
     }
@@ -48,31 +83,115 @@ public final class TelemetryContext {
         return event.payload();
     }
 
+    /**
+     * Sends {@code emitted} to the stages after the current one, within this pass.
+     * The event may be reused by the caller once this returns.
+     */
+    @Override
+    public void emit(TelemetryEvent emitted) {
+        if (stageIndex == DETACHED) {
+            TelemetryProcessor.publish(emitted);
+            return;
+        }
+        TelemetryProcessor.dispatch(emitted, stageIndex + 1, depth + 1);
+    }
+
+    @Override
+    public void emitDouble(
+            long timestampUs, TelemetrySource source, String channel, double value, int channelHandle) {
+        if (stageIndex == DETACHED) {
+            TelemetryProcessor.publishDouble(timestampUs, source, channel, value, channelHandle);
+            return;
+        }
+        TelemetryEvent.validate(source, TelemetryPayloadType.DOUBLE, channel);
+        scratch.setScalar(timestampUs, source, TelemetryPayloadType.DOUBLE, channel,
+                Double.doubleToRawLongBits(value), channelHandle);
+        TelemetryProcessor.dispatch(scratch, stageIndex + 1, depth + 1);
+    }
+
+    @Override
+    public void emitLong(
+            long timestampUs, TelemetrySource source, String channel, long value, int channelHandle) {
+        if (stageIndex == DETACHED) {
+            TelemetryProcessor.publishLong(timestampUs, source, channel, value, channelHandle);
+            return;
+        }
+        TelemetryEvent.validate(source, TelemetryPayloadType.INTEGER, channel);
+        scratch.setScalar(timestampUs, source, TelemetryPayloadType.INTEGER, channel, value, channelHandle);
+        TelemetryProcessor.dispatch(scratch, stageIndex + 1, depth + 1);
+    }
+
+    @Override
+    public void emitBoolean(
+            long timestampUs, TelemetrySource source, String channel, boolean value, int channelHandle) {
+        if (stageIndex == DETACHED) {
+            TelemetryProcessor.publishBoolean(timestampUs, source, channel, value, channelHandle);
+            return;
+        }
+        TelemetryEvent.validate(source, TelemetryPayloadType.BOOLEAN, channel);
+        scratch.setScalar(timestampUs, source, TelemetryPayloadType.BOOLEAN, channel, value ? 1 : 0, channelHandle);
+        TelemetryProcessor.dispatch(scratch, stageIndex + 1, depth + 1);
+    }
+
+    /** Stops this event here: the stages after the current one do not see it. */
+    public void drop() {
+        dropped = true;
+    }
+
+    public boolean isDropped() {
+        return dropped;
+    }
+
     public String payloadAsString() {
-        if (event.payload() == null) {
-            return null;
+        Object payload = event.objectPayload();
+        if (payload == null) {
+            return event.hasScalar() ? event.payload().toString() : null;
         }
-        if (event.payload() instanceof String s) {
+        if (payload instanceof String s) {
             return s;
         }
-        if (event.payload() instanceof byte[] bytes) {
+        if (payload instanceof byte[] bytes) {
             if (cachedStringPayload == null) {
                 cachedStringPayload = new String(bytes, StandardCharsets.UTF_8);
             }
             return cachedStringPayload;
         }
-        return event.payload().toString();
+        if (payload instanceof BufferPayload buffered) {
+            if (cachedStringPayload == null) {
+                cachedStringPayload = StandardCharsets.UTF_8.decode(buffered.buffer().duplicate()).toString();
+            }
+            return cachedStringPayload;
+        }
+        return payload.toString();
+    }
+
+    /**
+     * Returns the payload as a byte buffer for binary stages, or {@code null} if the
+     * payload is not byte-backed. Pooled buffers are only valid during this pass.
+     */
+    public ByteBuffer payloadAsBuffer() {
+        Object payload = event.objectPayload();
+        if (payload instanceof BufferPayload buffered) {
+            return buffered.buffer();
+        }
+        if (payload instanceof byte[] bytes) {
+            return ByteBuffer.wrap(bytes);
+        }
+        return null;
     }
 
     public void putAttribute(String key, Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
         attributes.put(key, value);
     }
 
     public Object getAttribute(String key) {
-        return attributes.get(key);
+        return attributes == null ? null : attributes.get(key);
     }
 
     public Map<String, Object> attributesView() {
-        return Collections.unmodifiableMap(attributes);
+        return attributes == null ? Collections.emptyMap() : Collections.unmodifiableMap(attributes);
     }
 }
@@ -16,15 +16,171 @@ package pi.logger.telemetry;
 
 import edu.wpi.first.util.struct.Struct;
 
-public record TelemetryEvent(
-        long timestampUs,
-        TelemetrySource source,
-        TelemetryPayloadType payloadType,
-        String channel,
-        Object payload,
-        Struct<?> structSchema
-) {
-    public TelemetryEvent {
+/**
+ * A single telemetry sample flowing through {@link TelemetryProcessor}.
+ *
+ * <p>Scalar samples ({@link TelemetryPayloadType#DOUBLE}, {@link TelemetryPayloadType#INTEGER}
+ * and {@link TelemetryPayloadType#BOOLEAN}) keep their value in a primitive slot so
+ * they are never boxed on the hot path; build them with {@link #ofDouble},
+ * {@link #ofLong} and {@link #ofBoolean} and read them with {@link #doubleValue()},
+ * {@link #longValue()} and {@link #booleanValue()}. {@link #payload()} still works
+ * for every type and boxes scalars on demand. Everything else (strings, arrays,
+ * structs, raw envelopes) is carried as an object payload.
+ *
+ * <p>Events handed to stages by {@link TelemetryProcessor} are ring-buffer slots
+ * that are overwritten after the pass; stages must copy anything they keep.
+ */
+public final class TelemetryEvent {
+
+    /** {@link #channelHandle()} value for events whose log entry is resolved by name. */
+    public static final int NO_HANDLE = -1;
+
+    // Not final: the processor's ring buffer reuses preallocated events as slots.
+    private long timestampUs;
+    private TelemetrySource source;
+    private TelemetryPayloadType payloadType;
+    private String channel;
+    private Object payload;
+    private Struct<?> structSchema;
+    private int channelHandle;
+    /** Scalar value: double bits, long, or 0/1 depending on {@link #payloadType}. */
+    private long scalarBits;
+    private boolean hasScalar;
+
+    public TelemetryEvent(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            Object payload,
+            Struct<?> structSchema) {
+        this(timestampUs, source, payloadType, channel, payload, structSchema, NO_HANDLE);
+    }
+
+    /**
+     * Object-payload constructor. Boxed numbers and booleans for scalar payload types
+     * are unpacked into the primitive slot, so older call sites behave the same as
+     * the primitive factories.
+     */
+    public TelemetryEvent(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            Object payload,
+            Struct<?> structSchema,
+            int channelHandle) {
+        validate(source, payloadType, channel);
+        set(timestampUs, source, payloadType, channel, payload, structSchema, channelHandle);
+    }
+
+    /** Empty event used as a preallocated ring-buffer slot. */
+    TelemetryEvent() {
+    }
+
+    /**
+     * Overwrites this event in place with an object payload (scalars are unpacked).
+     * Arguments must already have passed {@link #validate}.
+     */
+    void set(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            Object payload,
+            Struct<?> structSchema,
+            int channelHandle) {
+        this.timestampUs = timestampUs;
+        this.source = source;
+        this.payloadType = payloadType;
+        this.channel = channel;
+        this.structSchema = structSchema;
+        this.channelHandle = channelHandle;
+
+        if (payloadType == TelemetryPayloadType.DOUBLE && payload instanceof Number number) {
+            setScalarBits(Double.doubleToRawLongBits(number.doubleValue()));
+        } else if (payloadType == TelemetryPayloadType.INTEGER && payload instanceof Number number) {
+            setScalarBits(number.longValue());
+        } else if (payloadType == TelemetryPayloadType.BOOLEAN && payload instanceof Boolean bool) {
+            setScalarBits(bool ? 1 : 0);
+        } else {
+            this.scalarBits = 0;
+            this.hasScalar = false;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Overwrites this event in place with a scalar already encoded as bits
+     * (raw double bits, the long itself, or 0/1). Arguments must already have passed
+     * {@link #validate}.
+     */
+    void setScalar(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            long scalarBits,
+            int channelHandle) {
+        this.timestampUs = timestampUs;
+        this.source = source;
+        this.payloadType = payloadType;
+        this.channel = channel;
+        this.structSchema = null;
+        this.channelHandle = channelHandle;
+        setScalarBits(scalarBits);
+    }
+
+    void copyFrom(TelemetryEvent other) {
+        this.timestampUs = other.timestampUs;
+        this.source = other.source;
+        this.payloadType = other.payloadType;
+        this.channel = other.channel;
+        this.payload = other.payload;
+        this.structSchema = other.structSchema;
+        this.channelHandle = other.channelHandle;
+        this.scalarBits = other.scalarBits;
+        this.hasScalar = other.hasScalar;
+    }
+
+    /** Drops object references so a consumed slot does not keep payloads reachable. */
+    void clearReferences() {
+        this.payload = null;
+        this.structSchema = null;
+    }
+
+    private void setScalarBits(long bits) {
+        this.scalarBits = bits;
+        this.hasScalar = true;
+        this.payload = null;
+    }
+
+    public static TelemetryEvent ofDouble(
+            long timestampUs, TelemetrySource source, String channel, double value, int channelHandle) {
+        validate(source, TelemetryPayloadType.DOUBLE, channel);
+        TelemetryEvent event = new TelemetryEvent();
+        event.setScalar(timestampUs, source, TelemetryPayloadType.DOUBLE, channel,
+                Double.doubleToRawLongBits(value), channelHandle);
+        return event;
+    }
+
+    public static TelemetryEvent ofLong(
+            long timestampUs, TelemetrySource source, String channel, long value, int channelHandle) {
+        validate(source, TelemetryPayloadType.INTEGER, channel);
+        TelemetryEvent event = new TelemetryEvent();
+        event.setScalar(timestampUs, source, TelemetryPayloadType.INTEGER, channel, value, channelHandle);
+        return event;
+    }
+
+    public static TelemetryEvent ofBoolean(
+            long timestampUs, TelemetrySource source, String channel, boolean value, int channelHandle) {
+        validate(source, TelemetryPayloadType.BOOLEAN, channel);
+        TelemetryEvent event = new TelemetryEvent();
+        event.setScalar(timestampUs, source, TelemetryPayloadType.BOOLEAN, channel, value ? 1 : 0, channelHandle);
+        return event;
+    }
+
+    static void validate(TelemetrySource source, TelemetryPayloadType payloadType, String channel) {
         if (channel == null || channel.isBlank()) {
             throw new IllegalArgumentException("channel must be provided");
         }
@@ -32,4 +188,75 @@ public record TelemetryEvent(
             throw new IllegalArgumentException("source and payloadType must be provided");
         }
     }
+
+    public long timestampUs() {
+        return timestampUs;
+    }
+
+    public TelemetrySource source() {
+        return source;
+    }
+
+    public TelemetryPayloadType payloadType() {
+        return payloadType;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    public Struct<?> structSchema() {
+        return structSchema;
+    }
+
+    public int channelHandle() {
+        return channelHandle;
+    }
+
+    /** {@code true} when a scalar value is held in the primitive slot. */
+    public boolean hasScalar() {
+        return hasScalar;
+    }
+
+    public double doubleValue() {
+        return payloadType == TelemetryPayloadType.DOUBLE
+                ? Double.longBitsToDouble(scalarBits)
+                : (double) scalarBits;
+    }
+
+    public long longValue() {
+        return payloadType == TelemetryPayloadType.DOUBLE
+                ? (long) Double.longBitsToDouble(scalarBits)
+                : scalarBits;
+    }
+
+    public boolean booleanValue() {
+        return scalarBits != 0;
+    }
+
+    /**
+     * The payload as an object. Scalars are boxed here on demand; pipeline stages
+     * should prefer the primitive accessors.
+     */
+    public Object payload() {
+        if (!hasScalar) {
+            return payload;
+        }
+        return switch (payloadType) {
+            case DOUBLE -> doubleValue();
+            case INTEGER -> scalarBits;
+            case BOOLEAN -> scalarBits != 0;
+            default -> payload;
+        };
+    }
+
+    /** The object payload without boxing; {@code null} for scalars. */
+    Object objectPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetryEvent[" + payloadType + " " + channel + " @" + timestampUs + "us = " + payload() + "]";
+    }
 }
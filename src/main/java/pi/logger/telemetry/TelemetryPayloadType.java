@@ -16,6 +16,7 @@ package pi.logger.telemetry;
 
 public enum TelemetryPayloadType {
     CSV,
+    BINARY,
     STRING,
     DOUBLE,
     INTEGER,
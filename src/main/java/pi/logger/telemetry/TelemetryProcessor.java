@@ -14,14 +14,15 @@
 //====================================================================================================================================================
 package pi.logger.telemetry;
 
+import edu.wpi.first.util.struct.Struct;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import pi.logger.config.LoggerConfig;
+import pi.logger.utils.TimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,10 +38,25 @@ public final class TelemetryProcessor {
         Integer.MAX_VALUE
     );
 
-    private static final BlockingQueue<TelemetryEvent> inputQueue =
-        new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    /** Rounded up to a power of two by the ring buffer. */
+    private static final TelemetryRingBuffer ring = new TelemetryRingBuffer(QUEUE_CAPACITY);
+
+    private static final TelemetryWaitStrategy WAIT_STRATEGY =
+        TelemetryWaitStrategy.fromConfig(LoggerConfig.getString("telemetry.waitStrategy", "park"));
+
+    /** Per-stage timing costs two clock reads per stage per event; off by config for benchmarking. */
+    private static final boolean STAGE_METRICS =
+        LoggerConfig.getBoolean("telemetry.stageMetrics", true);
+
+    /** How often {@link TelemetryStage#tick} runs. */
+    private static final long TICK_NANOS =
+        LoggerConfig.getInt("telemetry.tickMs", 10, 1, 10_000) * 1_000_000L;
 
     private static final List<TelemetryStage> stages = new CopyOnWriteArrayList<>();
+    /** Index-aligned with {@link #stages}; always added first so the processor never sees a stage without one. */
+    private static final List<StageMetrics> stageMetrics = new CopyOnWriteArrayList<>();
+    /** Receive-to-written latency of ring events, from their (local receive) timestamp. */
+    private static final StageMetrics endToEnd = new StageMetrics("endToEnd");
 
     private static final AtomicBoolean running = new AtomicBoolean(false);
     private static final AtomicLong receivedCount = new AtomicLong();
@@ -48,13 +64,32 @@ public final class TelemetryProcessor {
     private static final AtomicLong errorCount = new AtomicLong();
 
     private static Thread workerThread;
+    /** One reusable context per emit depth; touched only by the processor thread. */
+    private static TelemetryContext[] contexts = new TelemetryContext[4];
+    /**
+     * Time spent in stages of nested dispatches, so an emitting stage is charged only
+     * for its own work. Processor thread only.
+     */
+    private static long nestedNanos = 0;
+    /** Next sequence to consume; carried across stop()/start() so no slot is skipped. */
+    private static volatile long consumerStart = 0;
 
     private TelemetryProcessor() {}
 
     public static void registerStage(TelemetryStage stage) {
+        stageMetrics.add(new StageMetrics(stage.getClass().getSimpleName()));
         stages.add(stage);
     }
 
+    /** Timing for each registered stage, in registration order. */
+    public static List<StageMetrics> getStageMetrics() {
+        return Collections.unmodifiableList(stageMetrics);
+    }
+
+    public static StageMetrics getEndToEndMetrics() {
+        return endToEnd;
+    }
+
     public static long getReceivedCount() {
         return receivedCount.get();
     }
@@ -68,15 +103,99 @@ public final class TelemetryProcessor {
     }
 
     public static int getPendingQueueSize() {
-        return inputQueue.size();
+        return ring.size();
     }
 
+    /**
+     * Copies {@code event} into the next ring slot. The event itself is not retained,
+     * so callers may reuse it.
+     */
     public static void publish(TelemetryEvent event) {
-        if (!inputQueue.offer(event)) {
-            long drops = droppedCount.incrementAndGet();
-            if (drops == 1 || drops % 1000 == 0) {
-                LOG.warn("Dropped {} events; queue at capacity ({})", drops, inputQueue.size());
+        long sequence = ring.tryClaim();
+        if (sequence == TelemetryRingBuffer.FULL) {
+            releasePayload(event);
+            recordDrop();
+            return;
+        }
+        ring.slot(sequence).copyFrom(event);
+        ring.publish(sequence);
+    }
+
+    /** Publishes an object-payload event straight into a ring slot, without building a {@link TelemetryEvent}. */
+    public static void publish(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            Object payload,
+            Struct<?> structSchema) {
+        publish(timestampUs, source, payloadType, channel, payload, structSchema, TelemetryEvent.NO_HANDLE);
+    }
+
+    /** As above, for a channel whose {@link pi.logger.datalog.USBFileLogger} handle the caller has cached. */
+    public static void publish(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            Object payload,
+            Struct<?> structSchema,
+            int channelHandle) {
+        // Validate before claiming: a claimed sequence must always be published.
+        TelemetryEvent.validate(source, payloadType, channel);
+        long sequence = ring.tryClaim();
+        if (sequence == TelemetryRingBuffer.FULL) {
+            if (payload instanceof BufferPayload buffered) {
+                buffered.release();
             }
+            recordDrop();
+            return;
+        }
+        ring.slot(sequence).set(
+            timestampUs, source, payloadType, channel, payload, structSchema, channelHandle);
+        ring.publish(sequence);
+    }
+
+    /** Publishes a double sample with no allocation. */
+    public static void publishDouble(
+            long timestampUs, TelemetrySource source, String channel, double value, int channelHandle) {
+        publishScalar(timestampUs, source, TelemetryPayloadType.DOUBLE, channel,
+            Double.doubleToRawLongBits(value), channelHandle);
+    }
+
+    /** Publishes an integer sample with no allocation. */
+    public static void publishLong(
+            long timestampUs, TelemetrySource source, String channel, long value, int channelHandle) {
+        publishScalar(timestampUs, source, TelemetryPayloadType.INTEGER, channel, value, channelHandle);
+    }
+
+    /** Publishes a boolean sample with no allocation. */
+    public static void publishBoolean(
+            long timestampUs, TelemetrySource source, String channel, boolean value, int channelHandle) {
+        publishScalar(timestampUs, source, TelemetryPayloadType.BOOLEAN, channel, value ? 1 : 0, channelHandle);
+    }
+
+    private static void publishScalar(
+            long timestampUs,
+            TelemetrySource source,
+            TelemetryPayloadType payloadType,
+            String channel,
+            long bits,
+            int channelHandle) {
+        TelemetryEvent.validate(source, payloadType, channel);
+        long sequence = ring.tryClaim();
+        if (sequence == TelemetryRingBuffer.FULL) {
+            recordDrop();
+            return;
+        }
+        ring.slot(sequence).setScalar(timestampUs, source, payloadType, channel, bits, channelHandle);
+        ring.publish(sequence);
+    }
+
+    private static void recordDrop() {
+        long drops = droppedCount.incrementAndGet();
+        if (drops == 1 || drops % 1000 == 0) {
+            LOG.warn("Dropped {} events; queue at capacity ({})", drops, ring.capacity());
         }
     }
 
@@ -99,27 +218,101 @@ public final class TelemetryProcessor {
     }
 
     private static void run() {
+        LOG.info("Telemetry processor using {} ring slots, {} wait strategy", ring.capacity(), WAIT_STRATEGY);
+        long next = consumerStart;
+        int idleCount = 0;
+        long nextTick = System.nanoTime() + TICK_NANOS;
         while (running.get()) {
-            try {
-                TelemetryEvent event = inputQueue.poll(100, TimeUnit.MILLISECONDS);
-                if (event == null) {
-                    continue;
+            long now = System.nanoTime();
+            if (now - nextTick >= 0) {
+                tick();
+                nextTick = now + TICK_NANOS;
+            }
+            if (!ring.isPublished(next)) {
+                WAIT_STRATEGY.idle(idleCount);
+                if (idleCount < Integer.MAX_VALUE) {
+                    idleCount++; // saturate: wrapping negative would restart the spin phase
                 }
+                continue;
+            }
+            idleCount = 0;
 
-                TelemetryContext context = new TelemetryContext(event);
-                for (TelemetryStage stage : stages) {
-                    try {
-                        stage.apply(context);
-                    } catch (Exception e) {
-                        errorCount.incrementAndGet();
-                        LOG.error("Telemetry stage failed for channel {}", event.channel(), e);
-                    }
-                }
-                receivedCount.incrementAndGet();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            TelemetryEvent event = ring.slot(next);
+            dispatch(event, 0, 0);
+            if (STAGE_METRICS) {
+                endToEnd.record((TimeUtils.nowUs() - event.timestampUs()) * 1000L);
+            }
+            releasePayload(event);
+            event.clearReferences();
+            ring.release(next);
+            next++;
+            receivedCount.incrementAndGet();
+        }
+        consumerStart = next;
+    }
+
+    /**
+     * Runs {@code event} through the stages from {@code firstStage} on. Stages that
+     * emit events re-enter here one level deeper, so a UDP record parsed by
+     * {@link CsvTelemetryStage} reaches {@link DataLogStage} without crossing the
+     * ring a second time. Processor thread only.
+     */
+    static void dispatch(TelemetryEvent event, int firstStage, int depth) {
+        if (depth >= contexts.length) {
+            contexts = Arrays.copyOf(contexts, depth + 1);
+        }
+        TelemetryContext context = contexts[depth];
+        if (context == null) {
+            context = new TelemetryContext();
+            contexts[depth] = context;
+        }
+        context.reset(event, depth);
+        int stageCount = stages.size();
+        for (int i = firstStage; i < stageCount; i++) {
+            context.setStageIndex(i);
+            long nestedBefore = nestedNanos;
+            long start = STAGE_METRICS ? System.nanoTime() : 0L;
+            try {
+                stages.get(i).apply(context);
+            } catch (Exception e) {
+                errorCount.incrementAndGet();
+                LOG.error("Telemetry stage failed for channel {}", event.channel(), e);
+            }
+            if (STAGE_METRICS) {
+                long elapsed = System.nanoTime() - start;
+                stageMetrics.get(i).record(elapsed - (nestedNanos - nestedBefore));
+                nestedNanos = nestedBefore + elapsed;
+            }
+            if (context.isDropped()) {
                 break;
             }
         }
     }
+
+    /** Runs every stage's {@link TelemetryStage#tick}. Processor thread only, between events. */
+    private static void tick() {
+        TelemetryContext context = contexts[0];
+        if (context == null) {
+            context = new TelemetryContext();
+            contexts[0] = context;
+        }
+        context.reset(null, 0);
+        int stageCount = stages.size();
+        for (int i = 0; i < stageCount; i++) {
+            context.setStageIndex(i);
+            try {
+                stages.get(i).tick(context);
+            } catch (Exception e) {
+                errorCount.incrementAndGet();
+                LOG.error("Telemetry stage tick failed", e);
+            }
+        }
+    }
+
+    /** Hands pooled buffers back to their owner once the pipeline is done with them. */
+    private static void releasePayload(TelemetryEvent event) {
+        if (event.objectPayload() instanceof BufferPayload buffered) {
+            buffered.release();
+        }
+    }
 }
@@ -0,0 +1,46 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+/**
+ * Receives events produced by a stage. {@link TelemetryContext} implements this to
+ * run the produced events through the remaining stages in the same pass; tests and
+ * benchmarks can collect them with a lambda.
+ *
+ * <p>Events passed to {@link #emit} (and those built by the scalar methods) may be
+ * reused once the call returns, so implementations must copy anything they keep
+ * beyond it. The default scalar methods allocate a fresh event; the pipeline's
+ * implementation overrides them to avoid that.
+ */
+@FunctionalInterface
+public interface TelemetrySink {
+
+    void emit(TelemetryEvent event);
+
+    default void emitDouble(
+            long timestampUs, TelemetrySource source, String channel, double value, int channelHandle) {
+        emit(TelemetryEvent.ofDouble(timestampUs, source, channel, value, channelHandle));
+    }
+
+    default void emitLong(
+            long timestampUs, TelemetrySource source, String channel, long value, int channelHandle) {
+        emit(TelemetryEvent.ofLong(timestampUs, source, channel, value, channelHandle));
+    }
+
+    default void emitBoolean(
+            long timestampUs, TelemetrySource source, String channel, boolean value, int channelHandle) {
+        emit(TelemetryEvent.ofBoolean(timestampUs, source, channel, value, channelHandle));
+    }
+}
@@ -17,4 +17,11 @@ package pi.logger.telemetry;
 @FunctionalInterface
 public interface TelemetryStage {
     void apply(TelemetryContext context) throws Exception;
+
+    /**
+     * Called every {@code telemetry.tickMs} on the processor thread, also while no
+     * events arrive, so a stage holding events back can write them out. Events sent
+     * to {@code sink} go to the stages after this one.
+     */
+    default void tick(TelemetrySink sink) throws Exception {}
 }
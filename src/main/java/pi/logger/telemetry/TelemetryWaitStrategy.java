@@ -0,0 +1,87 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+import pi.logger.config.LoggerConfig;
+
+/**
+ * How the telemetry consumer waits when the ring buffer is empty. Selected with
+ * {@code telemetry.waitStrategy} in {@code logger.properties}.
+ */
+enum TelemetryWaitStrategy {
+
+    /** Spins on {@link Thread#onSpinWait()}: lowest latency, burns a full core. */
+    BUSY_SPIN {
+        @Override
+        void idle(int idleCount) {
+            Thread.onSpinWait();
+        }
+    },
+
+    /** Spins briefly, then yields the CPU between checks. */
+    YIELD {
+        @Override
+        void idle(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+
+    /**
+     * Spins, yields, then parks for {@code telemetry.parkNanos} between checks.
+     * Cheapest on the Pi's shared cores; the park interval bounds added latency.
+     */
+    PARK {
+        @Override
+        void idle(int idleCount) {
+            if (idleCount < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (idleCount < SPIN_TRIES + YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 10;
+    private static final long DEFAULT_PARK_NANOS = 50_000;
+    private static final long PARK_NANOS =
+            LoggerConfig.getLong("telemetry.parkNanos", DEFAULT_PARK_NANOS, 1_000);
+
+    /**
+     * Called each time the consumer finds nothing to do; {@code idleCount} resets after
+     * work and saturates at {@link Integer#MAX_VALUE} rather than wrapping.
+     */
+    abstract void idle(int idleCount);
+
+    /** Parses a strategy name ("busy-spin", "yield", "park"), falling back to {@link #PARK}. */
+    static TelemetryWaitStrategy fromConfig(String name) {
+        if (name == null) {
+            return PARK;
+        }
+        return switch (name.trim().toLowerCase(Locale.ROOT).replace('_', '-')) {
+            case "busy-spin", "busyspin", "spin" -> BUSY_SPIN;
+            case "yield" -> YIELD;
+            default -> PARK;
+        };
+    }
+}
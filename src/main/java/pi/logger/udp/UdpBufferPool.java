@@ -0,0 +1,106 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.udp;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import pi.logger.telemetry.BufferPayload;
+
+/**
+ * Fixed-size pool of direct receive buffers for {@link UdpReceiver}.
+ *
+ * <p>All buffers are allocated up front. The receiver thread acquires a slot,
+ * reads a datagram straight into it, and publishes the slot as the event payload;
+ * the telemetry processor releases it after the pipeline has consumed it.
+ * {@link ArrayBlockingQueue} is used for the free list because its offer/poll do
+ * not allocate, so steady-state receive is garbage free.
+ */
+final class UdpBufferPool {
+
+    private final ArrayBlockingQueue<Slot> free;
+    private final int capacity;
+
+    UdpBufferPool(int capacity, int bufferSize) {
+        this.capacity = capacity;
+        this.free = new ArrayBlockingQueue<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            free.offer(new Slot(this, bufferSize));
+        }
+    }
+
+    /** Returns a free slot ready to receive into, or {@code null} if all slots are in flight. */
+    Slot acquire() {
+        Slot slot = free.poll();
+        if (slot != null) {
+            slot.inUse = true;
+            slot.receiveBuffer.clear();
+        }
+        return slot;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int available() {
+        return free.size();
+    }
+
+    private void recycle(Slot slot) {
+        free.offer(slot);
+    }
+
+    static final class Slot implements BufferPayload {
+        private final UdpBufferPool owner;
+        private final ByteBuffer receiveBuffer;
+        private final ByteBuffer readView;
+        private volatile boolean inUse;
+
+        private Slot(UdpBufferPool owner, int bufferSize) {
+            this.owner = owner;
+            this.receiveBuffer = ByteBuffer.allocateDirect(bufferSize);
+            this.readView = receiveBuffer.asReadOnlyBuffer();
+        }
+
+        /** Buffer the channel should receive into. */
+        ByteBuffer receiveBuffer() {
+            return receiveBuffer;
+        }
+
+        /** Marks the received bytes [0, position) as the payload. */
+        void commit() {
+            readView.clear();
+            readView.limit(receiveBuffer.position());
+        }
+
+        int length() {
+            return readView.limit();
+        }
+
+        @Override
+        public ByteBuffer buffer() {
+            return readView;
+        }
+
+        @Override
+        public void release() {
+            if (inUse) {
+                inUse = false;
+                owner.recycle(this);
+            }
+        }
+    }
+}
@@ -18,9 +18,13 @@ import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
 import java.nio.charset.StandardCharsets;
 
-import pi.logger.telemetry.TelemetryEvent;
+import pi.logger.telemetry.BinaryTelemetryStage;
 import pi.logger.telemetry.TelemetryPayloadType;
 import pi.logger.telemetry.TelemetryProcessor;
 import pi.logger.telemetry.TelemetrySource;
@@ -42,10 +46,28 @@ public final class UdpReceiver {
         256,
         65507
     );
+    private static final int RECEIVE_BUFFER_BYTES = 1 << 20; // 1 MB kernel buffer
+
+    /**
+     * {@code pooled} (default) receives through a {@link DatagramChannel} into a pool
+     * of reusable direct buffers; {@code socket} keeps the original
+     * {@link DatagramSocket} path that copies every packet into a new String.
+     */
+    private static final String RECEIVE_MODE = LoggerConfig.getString("udp.receiveMode", "pooled");
+    private static final int DEFAULT_BUFFER_POOL_SIZE = 1024;
+    private static final int BUFFER_POOL_SIZE = LoggerConfig.getInt(
+        "udp.bufferPoolSize",
+        DEFAULT_BUFFER_POOL_SIZE,
+        16,
+        65536
+    );
 
     private static volatile boolean running = true;
     private static volatile DatagramSocket socket = null;
+    private static volatile DatagramChannel channel = null;
     private static volatile long messagesProcessed = 0;
+    private static volatile long recordsReceived = 0;
+    private static volatile long packetsDropped = 0;
 
     private UdpReceiver() {}
 
@@ -57,7 +79,7 @@ public final class UdpReceiver {
 
     public static void stop() {
         running = false;
-        // Close the socket to unblock the receive() call
+        // Close the socket/channel to unblock the receive() call
         DatagramSocket s = socket;
         if (s != null) {
             try {
@@ -66,19 +88,129 @@ public final class UdpReceiver {
                 // Ignore exceptions during close
             }
         }
+        DatagramChannel ch = channel;
+        if (ch != null) {
+            try {
+                ch.close();
+            } catch (Exception e) {
+                // Ignore exceptions during close
+            }
+        }
     }
 
     public static long getMessagesProcessed() {
         return messagesProcessed;
     }
 
+    /**
+     * Total records received; a datagram may batch several newline-delimited CSV
+     * records or carry a multi-record binary frame.
+     */
+    public static long getRecordsReceived() {
+        return recordsReceived;
+    }
+
+    /** Average number of records carried by each datagram since startup. */
+    public static double getRecordsPerPacket() {
+        long messages = messagesProcessed;
+        return messages == 0 ? 0.0 : (double) recordsReceived / messages;
+    }
+
+    /**
+     * Datagrams discarded because every pooled buffer was still waiting in the
+     * telemetry pipeline.
+     */
+    public static long getPacketsDropped() {
+        return packetsDropped;
+    }
+
     private static void run() {
+        if ("socket".equalsIgnoreCase(RECEIVE_MODE)) {
+            runSocket();
+        } else {
+            runPooled();
+        }
+    }
+
+    /**
+     * Allocation-free receive loop: each datagram lands directly in a pooled direct
+     * buffer that is handed to the pipeline as a {@link pi.logger.telemetry.BufferPayload}
+     * and returned to the pool by {@link TelemetryProcessor} once consumed.
+     */
+    private static void runPooled() {
+        UdpBufferPool pool = new UdpBufferPool(BUFFER_POOL_SIZE, MAX_PACKET_SIZE);
+        // Used to drain the socket when the pool is exhausted so the kernel buffer
+        // doesn't fill with stale packets while the pipeline catches up.
+        ByteBuffer overflow = ByteBuffer.allocateDirect(MAX_PACKET_SIZE);
+        DatagramChannel ch = null;
+        try {
+            ch = DatagramChannel.open();
+            channel = ch;
+            ch.setOption(StandardSocketOptions.SO_RCVBUF, RECEIVE_BUFFER_BYTES);
+            ch.bind(new InetSocketAddress(PORT));
+            ch.configureBlocking(true);
+
+            LOG.info("UDP receiver listening on port {} (pooled, {} buffers)", PORT, pool.capacity());
+
+            while (running) {
+                UdpBufferPool.Slot slot = pool.acquire();
+                if (slot == null) {
+                    overflow.clear();
+                    ch.receive(overflow); // blocking
+                    long drops = ++packetsDropped;
+                    if (drops == 1 || drops % 1000 == 0) {
+                        LOG.warn("Dropped {} UDP packets; all {} receive buffers in use", drops, pool.capacity());
+                    }
+                    continue;
+                }
+
+                if (ch.receive(slot.receiveBuffer()) == null) { // blocking
+                    slot.release();
+                    continue;
+                }
+                slot.commit();
+                boolean binary = BinaryTelemetryStage.isBinaryFrame(slot.buffer());
+                int records = binary
+                    ? BinaryTelemetryStage.recordCount(slot.buffer())
+                    : countRecords(slot.buffer());
+
+                TelemetryProcessor.publish(
+                    TimeUtils.nowUs(),
+                    TelemetrySource.UDP,
+                    binary ? TelemetryPayloadType.BINARY : TelemetryPayloadType.CSV,
+                    "udp/raw",
+                    slot,
+                    null
+                );
+                messagesProcessed++;
+                recordsReceived += records;
+            }
+        } catch (ClosedChannelException e) {
+            // Expected when the channel is closed by stop()
+            if (running) {
+                LOG.error("UDP receiver channel closed", e);
+            }
+        } catch (Exception e) {
+            LOG.error("UDP receiver error", e);
+        } finally {
+            try {
+                if (ch != null) {
+                    ch.close();
+                }
+            } catch (Exception e) {
+                // Ignore exceptions during close
+            }
+            channel = null;
+        }
+    }
+
+    private static void runSocket() {
         DatagramSocket s = null;
         try {
             s = new DatagramSocket(null);
             socket = s;
             s.bind(new InetSocketAddress(PORT));
-            s.setReceiveBufferSize(1 << 20); // 1 MB buffer
+            s.setReceiveBufferSize(RECEIVE_BUFFER_BYTES);
 
             LOG.info("UDP receiver listening on port {}", PORT);
 
@@ -101,19 +233,22 @@ public final class UdpReceiver {
                         packet.getLength()
                 );
 
-                String payloadString = new String(payload, StandardCharsets.UTF_8);
+                ByteBuffer wrapped = ByteBuffer.wrap(payload);
+                boolean binary = BinaryTelemetryStage.isBinaryFrame(wrapped);
+                int records = binary
+                    ? BinaryTelemetryStage.recordCount(wrapped)
+                    : countRecords(wrapped);
 
-                TelemetryEvent event = new TelemetryEvent(
+                TelemetryProcessor.publish(
                     timestamp,
                     TelemetrySource.UDP,
-                    TelemetryPayloadType.CSV,
+                    binary ? TelemetryPayloadType.BINARY : TelemetryPayloadType.CSV,
                     "udp/raw",
-                    payloadString,
+                    binary ? payload : new String(payload, StandardCharsets.UTF_8),
                     null
                 );
-
-                TelemetryProcessor.publish(event);
                 messagesProcessed++;
+                recordsReceived += records;
             }
         } catch (SocketException e) {
             // Expected when socket is closed by stop()
@@ -134,5 +269,25 @@ public final class UdpReceiver {
         }
     }
 
+    /**
+     * Counts the non-blank newline-delimited records in a datagram without copying it.
+     * Uses absolute reads so the buffer position is left untouched for the pipeline.
+     */
+    static int countRecords(ByteBuffer payload) {
+        int records = 0;
+        boolean hasContent = false;
+        int limit = payload.limit();
+        for (int i = payload.position(); i < limit; i++) {
+            byte b = payload.get(i);
+            if (b == '\n') {
+                if (hasContent) {
+                    records++;
+                }
+                hasContent = false;
+            } else if (b > ' ') {
+                hasContent = true;
+            }
+        }
+        return hasContent ? records + 1 : records;
+    }
 }
-
@@ -0,0 +1,351 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.utils;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Allocation-free parser for the decimal numbers robot code emits in telemetry
+ * ({@code Double.toString}, {@code String.format}, plain integers), reading
+ * directly from a byte range instead of a trimmed substring.
+ *
+ * <p>Doubles and floats go through Clinger's exact fast path when the mantissa and
+ * power of ten are both exactly representable, then through the Eisel-Lemire
+ * algorithm (as used by fast_float and Go's strconv). Inputs neither can decide
+ * correctly - more than 19 significant digits, subnormal or out-of-range results,
+ * exact halfway ties, NaN/Infinity, hex or type suffixes - fall back to the JDK
+ * parsers, so results are always bit-identical to {@link Double#parseDouble} and
+ * {@link Float#parseFloat}.
+ *
+ * <p>Ranges are {@code [start, end)} and are trimmed of ASCII whitespace. Malformed
+ * input throws {@link NumberFormatException} like the JDK parsers.
+ */
+public final class FastNumberParser {
+
+    private static final int MAX_FAST_DIGITS = 19;
+
+    // 10^0 .. 10^22 are exact doubles and 10^0 .. 10^10 exact floats.
+    private static final double[] DOUBLE_POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final float[] FLOAT_POW10 = {
+        1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+    };
+    private static final long MAX_EXACT_DOUBLE_MANTISSA = 1L << 53;
+    private static final long MAX_EXACT_FLOAT_MANTISSA = 1L << 24;
+
+    /*
+     * 128-bit approximations of 5^q, normalised so the top bit is set, for
+     * q in [MIN_POW10, MAX_POW10]. Positive powers are truncated and negative powers
+     * rounded up, exactly as in fast_float's generated table. Built once with
+     * BigInteger rather than shipped as a 1300-entry literal.
+     */
+    private static final int MIN_POW10 = -342;
+    private static final int MAX_POW10 = 308;
+    private static final long[] POW5_HI = new long[MAX_POW10 - MIN_POW10 + 1];
+    private static final long[] POW5_LO = new long[MAX_POW10 - MIN_POW10 + 1];
+
+    static {
+        BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+        BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+        for (int q = MIN_POW10; q <= MAX_POW10; q++) {
+            BigInteger c;
+            if (q >= 0) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(q);
+                int bits = power5.bitLength();
+                c = bits >= 128 ? power5.shiftRight(bits - 128) : power5.shiftLeft(128 - bits);
+            } else {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                int z = power5.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (c.compareTo(two128) >= 0) {
+                    c = c.shiftRight(1);
+                }
+            }
+            POW5_HI[q - MIN_POW10] = c.shiftRight(64).longValue();
+            POW5_LO[q - MIN_POW10] = c.and(mask64).longValue();
+        }
+    }
+
+    private FastNumberParser() {}
+
+    /** Parses a decimal integer like {@link Long#parseLong(String)}. */
+    public static long parseLong(byte[] buf, int start, int end) {
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        if (start == end) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+        int i = start;
+        boolean negative = false;
+        byte first = buf[i];
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (++i == end) {
+                throw numberFormat(buf, start, end);
+            }
+        }
+        // Accumulate negatively so Long.MIN_VALUE parses without overflow.
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw numberFormat(buf, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormat(buf, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    public static double parseDouble(byte[] buf, int start, int end) {
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        double value = parseDecimal(buf, start, end, false);
+        return Double.isNaN(value) ? Double.parseDouble(toString(buf, start, end)) : value;
+    }
+
+    public static float parseFloat(byte[] buf, int start, int end) {
+        start = trimStart(buf, start, end);
+        end = trimEnd(buf, start, end);
+        double value = parseDecimal(buf, start, end, true);
+        return Double.isNaN(value) ? Float.parseFloat(toString(buf, start, end)) : (float) value;
+    }
+
+    /**
+     * Scans {@code [-+]digits[.digits][(e|E)[-+]digits]} and converts it. Returns NaN
+     * (which this grammar cannot produce) when the caller must use the JDK parser.
+     * Single-precision results are computed as floats and widened, so the caller's
+     * narrowing cast is exact.
+     */
+    private static double parseDecimal(byte[] buf, int start, int end, boolean single) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+            negative = buf[i] == '-';
+            i++;
+        }
+        // Up to 19 digits always fit in 64 bits when read as unsigned.
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean sawDigit = false;
+        for (; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            sawDigit = true;
+            if (mantissa != 0 || digit != 0) {
+                if (++digits > MAX_FAST_DIGITS) {
+                    return Double.NaN;
+                }
+                mantissa = mantissa * 10 + digit;
+            }
+        }
+        if (i < end && buf[i] == '.') {
+            for (i++; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                sawDigit = true;
+                exponent--;
+                if (mantissa != 0 || digit != 0) {
+                    if (++digits > MAX_FAST_DIGITS) {
+                        return Double.NaN;
+                    }
+                    mantissa = mantissa * 10 + digit;
+                }
+            }
+        }
+        if (!sawDigit) {
+            return Double.NaN;
+        }
+        if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+                negativeExponent = buf[i] == '-';
+                i++;
+            }
+            int explicit = 0;
+            int exponentStart = i;
+            for (; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9 || explicit > 100_000) {
+                    return Double.NaN;
+                }
+                explicit = explicit * 10 + digit;
+            }
+            if (i == exponentStart) {
+                return Double.NaN;
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i != end) {
+            return Double.NaN;
+        }
+        if (mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        return single ? toFloat(mantissa, exponent, negative) : toDouble(mantissa, exponent, negative);
+    }
+
+    private static double toDouble(long mantissa, int exponent, boolean negative) {
+        if (Long.compareUnsigned(mantissa, MAX_EXACT_DOUBLE_MANTISSA) <= 0
+                && exponent >= -22 && exponent <= 22) {
+            double value = (double) mantissa;
+            value = exponent < 0 ? value / DOUBLE_POW10[-exponent] : value * DOUBLE_POW10[exponent];
+            return negative ? -value : value;
+        }
+        if (exponent < MIN_POW10 || exponent > MAX_POW10) {
+            return Double.NaN;
+        }
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << clz;
+        long exponent2 = (((217706L * exponent) >> 16) + 64 + 1023) - clz;
+
+        int index = exponent - MIN_POW10;
+        long xHi = unsignedMultiplyHigh(w, POW5_HI[index]);
+        long xLo = w * POW5_HI[index];
+        // The truncated 64-bit product may be too coarse; widen with the low word.
+        if ((xHi & 0x1FF) == 0x1FF && Long.compareUnsigned(xLo + w, w) < 0) {
+            long yHi = unsignedMultiplyHigh(w, POW5_LO[index]);
+            long yLo = w * POW5_LO[index];
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && Long.compareUnsigned(yLo + w, w) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long bits = xHi >>> (msb + 9);
+        exponent2 -= 1 ^ msb;
+        // Exactly halfway between two doubles: let the JDK break the tie.
+        if (xLo == 0 && (xHi & 0x1FF) == 0 && (bits & 3) == 1) {
+            return Double.NaN;
+        }
+        bits += bits & 1;
+        bits >>>= 1;
+        if ((bits >>> 53) > 0) {
+            bits >>>= 1;
+            exponent2++;
+        }
+        // Subnormal, overflow and infinity are left to the JDK.
+        if (exponent2 <= 0 || exponent2 >= 0x7FF) {
+            return Double.NaN;
+        }
+        double value = Double.longBitsToDouble((exponent2 << 52) | (bits & 0x000F_FFFF_FFFF_FFFFL));
+        return negative ? -value : value;
+    }
+
+    private static double toFloat(long mantissa, int exponent, boolean negative) {
+        if (Long.compareUnsigned(mantissa, MAX_EXACT_FLOAT_MANTISSA) <= 0
+                && exponent >= -10 && exponent <= 10) {
+            float value = (float) mantissa;
+            value = exponent < 0 ? value / FLOAT_POW10[-exponent] : value * FLOAT_POW10[exponent];
+            return negative ? -value : value;
+        }
+        if (exponent < MIN_POW10 || exponent > MAX_POW10) {
+            return Double.NaN;
+        }
+        int clz = Long.numberOfLeadingZeros(mantissa);
+        long w = mantissa << clz;
+        long exponent2 = (((217706L * exponent) >> 16) + 64 + 127) - clz;
+
+        int index = exponent - MIN_POW10;
+        long xHi = unsignedMultiplyHigh(w, POW5_HI[index]);
+        long xLo = w * POW5_HI[index];
+        if ((xHi & 0x3F_FFFF_FFFFL) == 0x3F_FFFF_FFFFL && Long.compareUnsigned(xLo + w, w) < 0) {
+            long yHi = unsignedMultiplyHigh(w, POW5_LO[index]);
+            long yLo = w * POW5_LO[index];
+            long mergedHi = xHi;
+            long mergedLo = xLo + yHi;
+            if (Long.compareUnsigned(mergedLo, xLo) < 0) {
+                mergedHi++;
+            }
+            if ((mergedHi & 0x3F_FFFF_FFFFL) == 0x3F_FFFF_FFFFL && mergedLo + 1 == 0
+                    && Long.compareUnsigned(yLo + w, w) < 0) {
+                return Double.NaN;
+            }
+            xHi = mergedHi;
+            xLo = mergedLo;
+        }
+
+        long msb = xHi >>> 63;
+        long bits = xHi >>> (msb + 38);
+        exponent2 -= 1 ^ msb;
+        if (xLo == 0 && (xHi & 0x3F_FFFF_FFFFL) == 0 && (bits & 3) == 1) {
+            return Double.NaN;
+        }
+        bits += bits & 1;
+        bits >>>= 1;
+        if ((bits >>> 24) > 0) {
+            bits >>>= 1;
+            exponent2++;
+        }
+        if (exponent2 <= 0 || exponent2 >= 0xFF) {
+            return Double.NaN;
+        }
+        float value = Float.intBitsToFloat((int) ((exponent2 << 23) | (bits & 0x007F_FFFFL)));
+        return negative ? -value : value;
+    }
+
+    /** High 64 bits of the unsigned 128-bit product (Math.unsignedMultiplyHigh is Java 18+). */
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+
+    public static int trimStart(byte[] buf, int start, int end) {
+        while (start < end && isWhitespace(buf[start])) {
+            start++;
+        }
+        return start;
+    }
+
+    public static int trimEnd(byte[] buf, int start, int end) {
+        while (end > start && isWhitespace(buf[end - 1])) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private static String toString(byte[] buf, int start, int end) {
+        return new String(buf, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static NumberFormatException numberFormat(byte[] buf, int start, int end) {
+        return new NumberFormatException("For input string: \"" + toString(buf, start, end) + "\"");
+    }
+}
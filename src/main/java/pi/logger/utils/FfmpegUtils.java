@@ -186,14 +186,7 @@ public class FfmpegUtils {
                 .withZone(ZoneId.systemDefault())
                 .format(Instant.now());
         if (pi.logger.nt.MatchInfoListener.isFmsAttached()) {
-            String event = sanitize(pi.logger.nt.MatchInfoListener.getEventName());
-            String matchTag = matchTypeTag(pi.logger.nt.MatchInfoListener.getMatchType())
-                    + pi.logger.nt.MatchInfoListener.getMatchNumber();
-            int replay = pi.logger.nt.MatchInfoListener.getReplayNumber();
-            if (replay > 0) {
-                matchTag += "_R" + replay;
-            }
-            identifier = (event.isEmpty() ? "" : event + "_") + matchTag + time;
+            identifier = matchFileTag() + time;
         } else {
             // Date/time with underscores and am/pm for readability
             identifier = time;
@@ -213,6 +206,21 @@ public class FfmpegUtils {
         return new File(VIDEO_DIR_PATH, sb.toString()).getAbsolutePath();
     }
 
+    /**
+     * Filename-safe tag for the current FMS match, e.g. {@code EventName_QM12} or
+     * {@code EventName_QM12_R1} for a replay. Shared by video and WPILOG file names.
+     */
+    public static String matchFileTag() {
+        String event = sanitize(pi.logger.nt.MatchInfoListener.getEventName());
+        String matchTag = matchTypeTag(pi.logger.nt.MatchInfoListener.getMatchType())
+                + pi.logger.nt.MatchInfoListener.getMatchNumber();
+        int replay = pi.logger.nt.MatchInfoListener.getReplayNumber();
+        if (replay > 0) {
+            matchTag += "_R" + replay;
+        }
+        return (event.isEmpty() ? "" : event + "_") + matchTag;
+    }
+
     /**
      * Convert the WPILib MatchType integer to a short filename-safe tag.
      * Values: 0 = None, 1 = Practice, 2 = Qualification, 3 = Elimination.
@@ -0,0 +1,123 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Multi-producer, single-consumer ring of preallocated, reusable slots,
+ * in the style of the LMAX Disruptor.
+ *
+ * <p>Producers claim a sequence with a CAS on the claim cursor, fill the slot in
+ * place and then publish it by storing the sequence into that slot's availability
+ * entry. The consumer reads slots strictly in sequence order and hands each one
+ * back by advancing the consumer cursor, which is what gates producers from
+ * wrapping onto unconsumed slots. Nothing is allocated per item and neither side
+ * takes a lock.
+ *
+ * <p>Claims never block: a full ring returns {@link #FULL} so callers can count a
+ * drop, which also keeps stages that publish from the consumer thread from
+ * deadlocking.
+ */
+public class MpscRingBuffer<T> {
+
+    public static final long FULL = -1;
+
+    private final T[] slots;
+    private final int mask;
+    /** Sequence published into each slot; a slot is readable once it holds the expected sequence. */
+    private final AtomicLongArray published;
+    /** Highest sequence claimed by any producer. */
+    private final AtomicLong claimCursor = new PaddedSequence(-1);
+    /** Highest sequence the consumer has finished with. */
+    private final AtomicLong consumerCursor = new PaddedSequence(-1);
+
+    @SuppressWarnings("unchecked")
+    public MpscRingBuffer(int requestedCapacity, Supplier<T> slotFactory) {
+        int capacity = capacityFor(requestedCapacity);
+        slots = (T[]) new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = slotFactory.get();
+        }
+        mask = capacity - 1;
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    /** Smallest power of two that holds {@code requested} items. */
+    public static int capacityFor(int requested) {
+        if (requested <= 1) {
+            return 1;
+        }
+        int highest = Integer.highestOneBit(requested - 1) << 1;
+        return highest > 0 ? highest : 1 << 30;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /** Claims the next sequence, or returns {@link #FULL} without waiting. */
+    public long tryClaim() {
+        while (true) {
+            long current = claimCursor.get();
+            long next = current + 1;
+            if (next - slots.length > consumerCursor.get()) {
+                return FULL;
+            }
+            if (claimCursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /** The slot for a claimed (producer) or published (consumer) sequence. */
+    public T slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /** Makes a filled slot visible to the consumer. */
+    public void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    public boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == sequence;
+    }
+
+    /** Returns a consumed slot to producers. Consumer thread only. */
+    public void release(long sequence) {
+        consumerCursor.lazySet(sequence);
+    }
+
+    /** Items claimed but not yet released by the consumer. */
+    public int size() {
+        return (int) Math.max(0, claimCursor.get() - consumerCursor.get());
+    }
+
+    /** Pads the hot cursors onto their own cache lines so producers and the consumer don't false-share. */
+    @SuppressWarnings("unused")
+    private static final class PaddedSequence extends AtomicLong {
+        private long p1, p2, p3, p4, p5, p6, p7;
+
+        PaddedSequence(long initialValue) {
+            super(initialValue);
+        }
+    }
+}
@@ -15,6 +15,7 @@
 package pi.logger.utils;
 
 import edu.wpi.first.util.WPIUtilJNI;
+import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,6 +54,18 @@ public final class TimeUtils {
         return WPIUtilJNI.now() - epochOffsetUs;
     }
 
+    /**
+     * Converts a NetworkTables value timestamp to logger time. NT timestamps use the
+     * same clock as {@code WPIUtilJNI.now()}, and values received from the robot are
+     * already shifted by NT's time sync to the local clock.
+     *
+     * @param ntTimeUs NT timestamp in microseconds
+     * @return microseconds since logger start
+     */
+    public static long fromNtTimeUs(long ntTimeUs) {
+        return ntTimeUs - epochOffsetUs;
+    }
+
     /**
      * Parse the CSV timestamp string into microseconds for the WPILOG file.
      * Accepts integer microseconds directly. If the value contains a decimal
@@ -63,15 +76,37 @@ public final class TimeUtils {
         if (raw == null || raw.isEmpty()) {
             return 0;
         }
+        byte[] bytes = raw.getBytes(StandardCharsets.ISO_8859_1);
+        return parseTimestampMicros(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Byte-range form of {@link #parseTimestampMicros(String)}, parsed in place with
+     * {@link FastNumberParser}. The leading digits are scanned once to tell seconds
+     * from integer microseconds.
+     */
+    public static long parseTimestampMicros(byte[] buf, int start, int end) {
+        start = FastNumberParser.trimStart(buf, start, end);
+        end = FastNumberParser.trimEnd(buf, start, end);
+        if (start == end) {
+            return 0;
+        }
         try {
-            if (raw.contains(".")) {
+            int i = start;
+            if (buf[i] == '-' || buf[i] == '+') {
+                i++;
+            }
+            while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+                i++;
+            }
+            if (i < end && buf[i] == '.') {
                 // Treat as seconds (e.g. FPGA timestamp from WPILib Timer.getFPGATimestamp())
-                double seconds = Double.parseDouble(raw);
+                double seconds = FastNumberParser.parseDouble(buf, start, end);
                 return (long) (seconds * 1_000_000);
             }
-            return Long.parseLong(raw);
+            return FastNumberParser.parseLong(buf, start, end);
         } catch (NumberFormatException e) {
-            LOG.warn("Failed to parse CSV timestamp: {}", raw);
+            LOG.warn("Failed to parse CSV timestamp: {}", new String(buf, start, end - start, StandardCharsets.UTF_8));
             return 0;
         }
     }
@@ -0,0 +1,58 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class ChannelRegistryTest {
+
+    @Test
+    void resolve_returnsStableDenseHandles() {
+        ChannelRegistry registry = new ChannelRegistry();
+        int a = registry.resolve("a", "double", null);
+        int b = registry.resolve("b", "int64", null);
+        assertEquals(0, a);
+        assertEquals(1, b);
+        assertEquals(a, registry.resolve("a", "double", null));
+        assertEquals("b", registry.get(b).name);
+        assertEquals("int64", registry.get(b).type);
+        assertNull(registry.get(a).struct);
+    }
+
+    @Test
+    void resolve_rejectsTypeConflicts() {
+        ChannelRegistry registry = new ChannelRegistry();
+        registry.resolve("speed", "double", null);
+        assertEquals(ChannelRegistry.NO_HANDLE, registry.resolve("speed", "int64", null));
+        assertEquals("double", registry.typeOf("speed"));
+        assertTrue(registry.firstConflict("speed"));
+        assertFalse(registry.firstConflict("speed"));
+    }
+
+    @Test
+    void resolve_growsPastInitialCapacity() {
+        ChannelRegistry registry = new ChannelRegistry();
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, registry.resolve("ch" + i, "double", null));
+        }
+        assertEquals("ch499", registry.get(499).name);
+        assertEquals("ch0", registry.get(0).name);
+    }
+}
@@ -0,0 +1,74 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FlushPolicyTest {
+
+    private static final long MS = 1_000_000;
+    private static final long TARGET = 20 * MS;
+
+    private static FlushPolicy adaptive() {
+        return new FlushPolicy(FlushPolicy.Mode.ADAPTIVE, 200, 500, 100, 2000, TARGET);
+    }
+
+    @Test
+    void adaptive_flushesSoonerWhileDisabled() {
+        FlushPolicy policy = adaptive();
+        assertEquals(100, policy.intervalMs());
+        assertTrue(policy.shouldFlush(1, 100));
+        assertFalse(policy.shouldFlush(0, 1000));
+
+        policy.robotEnabled(true);
+        assertEquals(500, policy.intervalMs());
+        assertFalse(policy.shouldFlush(1, 100));
+        assertTrue(policy.shouldFlush(200, 0));
+    }
+
+    @Test
+    void adaptive_backsOffOnSlowFlushesUpToMaxAtRisk() {
+        FlushPolicy policy = adaptive();
+        policy.robotEnabled(true);
+        for (int i = 0; i < 100; i++) {
+            policy.flushed(200 * MS);
+        }
+        assertEquals(2000, policy.intervalMs());
+        assertTrue(policy.entryThreshold() > 200);
+
+        for (int i = 0; i < 100; i++) {
+            policy.flushed(MS);
+        }
+        assertEquals(500, policy.intervalMs());
+        assertEquals(200, policy.entryThreshold());
+    }
+
+    @Test
+    void fixed_ignoresRobotStateAndLatency() {
+        FlushPolicy policy = new FlushPolicy(FlushPolicy.Mode.FIXED, 200, 500, 100, 2000, TARGET);
+        policy.robotEnabled(false);
+        for (int i = 0; i < 100; i++) {
+            policy.flushed(200 * MS);
+        }
+        assertEquals(500, policy.intervalMs());
+        assertEquals(200, policy.entryThreshold());
+        assertEquals(FlushPolicy.Mode.FIXED, FlushPolicy.Mode.fromConfig(" Fixed "));
+        assertEquals(FlushPolicy.Mode.ADAPTIVE, FlushPolicy.Mode.fromConfig(null));
+    }
+}
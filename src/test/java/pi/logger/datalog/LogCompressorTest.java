@@ -0,0 +1,66 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LogCompressorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compress_replacesFileAndRoundTripsThroughReader() throws IOException, InterruptedException {
+        byte[] data = new byte[300_000];
+        new Random(302).nextBytes(data);
+        Path log = dir.resolve("udp_20260301_101500.wpilog");
+        Files.write(log, data);
+        FileTime modified = FileTime.fromMillis(1_700_000_000_000L);
+        Files.setLastModifiedTime(log, modified);
+
+        Path compressed = LogCompressor.compress(log, 1, 100);
+
+        assertEquals(dir.resolve("udp_20260301_101500.wpilog.gz"), compressed);
+        assertFalse(Files.exists(log));
+        assertEquals(modified, Files.getLastModifiedTime(compressed));
+        assertTrue(CompressedLogReader.isCompressed(compressed));
+        try (InputStream in = CompressedLogReader.open(compressed)) {
+            assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void open_readsUncompressedFilesUnchanged() throws IOException {
+        Path log = dir.resolve("udp_20260301_101500.wpilog");
+        Files.write(log, new byte[] {1, 2, 3});
+
+        assertFalse(CompressedLogReader.isCompressed(log));
+        try (InputStream in = CompressedLogReader.open(log)) {
+            assertArrayEquals(new byte[] {1, 2, 3}, in.readAllBytes());
+        }
+    }
+}
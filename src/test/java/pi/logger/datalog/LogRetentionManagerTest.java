@@ -0,0 +1,67 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LogRetentionManagerTest {
+
+    private static final long NOW = 10_000_000;
+
+    private static LogRetentionManager.Candidate file(String name, long size, long ageMs) {
+        return new LogRetentionManager.Candidate(Path.of("/logs", name), size, NOW - ageMs);
+    }
+
+    @Test
+    void isMatchFile_recognizesMatchTags() {
+        assertTrue(LogRetentionManager.isMatchFile("udp_MIGUL_QM12_20260301_101500.wpilog"));
+        assertTrue(LogRetentionManager.isMatchFile("oculus_MIGUL_EM3_R1_20260301_101500.mkv"));
+        assertTrue(LogRetentionManager.isMatchFile("oculus_UNKNOWN_M-1_20260301_101500.mkv"));
+        assertFalse(LogRetentionManager.isMatchFile("udp_20260301_101500.wpilog"));
+        assertFalse(LogRetentionManager.isMatchFile("pi-logger.log"));
+    }
+
+    @Test
+    void selectForDeletion_deletesOldestUnprotectedUntilEnoughIsFreed() {
+        List<LogRetentionManager.Candidate> candidates = List.of(
+                file("udp_20260301_120000.wpilog", 100, 1_000_000),
+                file("udp_20260301_100000.wpilog", 100, 3_000_000),
+                file("udp_EV_QM1_20260301_090000.wpilog", 100, 4_000_000),
+                file("udp_20260301_110000.wpilog", 100, 2_000_000));
+
+        List<LogRetentionManager.Candidate> victims =
+                LogRetentionManager.selectForDeletion(candidates, 150, NOW, null);
+
+        assertEquals(2, victims.size());
+        assertEquals("udp_20260301_100000.wpilog", victims.get(0).path().getFileName().toString());
+        assertEquals("udp_20260301_110000.wpilog", victims.get(1).path().getFileName().toString());
+    }
+
+    @Test
+    void selectForDeletion_skipsActiveAndRecentFiles() {
+        LogRetentionManager.Candidate active = file("udp_20260301_100000.wpilog", 100, 3_000_000);
+        List<LogRetentionManager.Candidate> candidates = List.of(
+                active,
+                file("oculus_20260301_120000.mkv", 100, LogRetentionManager.RECENT_FILE_MS - 1));
+
+        assertTrue(LogRetentionManager.selectForDeletion(candidates, 1_000, NOW, active.path()).isEmpty());
+    }
+}
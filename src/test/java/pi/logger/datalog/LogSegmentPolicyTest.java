@@ -0,0 +1,86 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LogSegmentPolicyTest {
+
+    private static final long AGE = 300_000;
+    private static final long SIZE = 1_000_000;
+    private static final long TAIL = 15_000;
+
+    @Test
+    void matchMode_startsFileAtMatchStartAndClosesAfterTail() {
+        LogSegmentPolicy policy = new LogSegmentPolicy(LogSegmentPolicy.Mode.MATCH, AGE, SIZE, TAIL);
+        policy.started(0);
+        assertNull(policy.evaluate(1_000, 0, true, false, "Ev_QM3"));
+
+        assertEquals("Ev_QM3", policy.evaluate(2_000, 0, true, true, "Ev_QM3"));
+        assertTrue(policy.inMatch());
+        // Auto -> teleop gap stays in the same file
+        assertNull(policy.evaluate(10_000, 0, true, false, "Ev_QM3"));
+        assertNull(policy.evaluate(12_000, 0, true, true, "Ev_QM3"));
+        // Matches are never split on age
+        assertNull(policy.evaluate(2_000 + AGE + 1, 0, true, true, "Ev_QM3"));
+
+        long end = 2_000 + AGE + 1;
+        assertNull(policy.evaluate(end + TAIL - 1, 0, true, false, "Ev_QM3"));
+        assertEquals(LogSegmentPolicy.NO_MATCH, policy.evaluate(end + TAIL, 0, true, false, "Ev_QM3"));
+        assertFalse(policy.inMatch());
+    }
+
+    @Test
+    void matchMode_replayStartsNewFile() {
+        LogSegmentPolicy policy = new LogSegmentPolicy(LogSegmentPolicy.Mode.MATCH, AGE, SIZE, TAIL);
+        policy.started(0);
+        assertEquals("Ev_QM3", policy.evaluate(1_000, 0, true, true, "Ev_QM3"));
+        assertEquals("Ev_QM3_R1", policy.evaluate(2_000, 0, true, true, "Ev_QM3_R1"));
+    }
+
+    @Test
+    void outsideMatches_rotatesOnAge() {
+        LogSegmentPolicy policy = new LogSegmentPolicy(LogSegmentPolicy.Mode.MATCH, AGE, SIZE, TAIL);
+        policy.started(0);
+        // Enabled without FMS (practice) is not a match
+        assertNull(policy.evaluate(AGE - 1, 0, false, true, LogSegmentPolicy.NO_MATCH));
+        assertEquals(LogSegmentPolicy.NO_MATCH, policy.evaluate(AGE, 0, false, true, LogSegmentPolicy.NO_MATCH));
+        assertNull(policy.evaluate(AGE + 1, 0, false, true, LogSegmentPolicy.NO_MATCH));
+    }
+
+    @Test
+    void sizeLimit_rotatesOutsideMatchesOnly() {
+        LogSegmentPolicy policy = new LogSegmentPolicy(LogSegmentPolicy.Mode.MATCH, AGE, SIZE, TAIL);
+        policy.started(0);
+        assertNull(policy.evaluate(1_000, SIZE - 1, false, false, LogSegmentPolicy.NO_MATCH));
+        assertEquals(LogSegmentPolicy.NO_MATCH, policy.evaluate(2_000, SIZE, false, false, LogSegmentPolicy.NO_MATCH));
+        assertEquals("Ev_QM3", policy.evaluate(3_000, 0, true, true, "Ev_QM3"));
+        assertNull(policy.evaluate(4_000, SIZE * 2, true, true, "Ev_QM3"));
+    }
+
+    @Test
+    void timeMode_ignoresMatches() {
+        LogSegmentPolicy policy = new LogSegmentPolicy(LogSegmentPolicy.Mode.fromConfig("time"), AGE, SIZE, TAIL);
+        policy.started(0);
+        assertNull(policy.evaluate(1_000, 0, true, true, "Ev_QM3"));
+        assertEquals(LogSegmentPolicy.NO_MATCH, policy.evaluate(AGE, 0, true, true, "Ev_QM3"));
+        assertEquals(LogSegmentPolicy.Mode.MATCH, LogSegmentPolicy.Mode.fromConfig("match"));
+    }
+}
@@ -0,0 +1,177 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.datalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.wpi.first.util.datalog.DataLog;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteJournalTest {
+
+    private static final int SIZE = 64 * 1024;
+
+    @TempDir
+    Path dir;
+
+    /** Captures what a replay writes instead of producing a real file. */
+    private static final class RecordingLog extends DataLog {
+        final List<String> starts = new ArrayList<>();
+        final List<String> schemas = new ArrayList<>();
+        final List<byte[]> payloads = new ArrayList<>();
+        final List<Long> timestamps = new ArrayList<>();
+
+        RecordingLog() {
+            super(0);
+        }
+
+        @Override
+        public int start(String name, String type, String metadata, long timestamp) {
+            starts.add(name + ":" + type);
+            return starts.size();
+        }
+
+        @Override
+        public void addSchema(String name, String type, String schema, long timestamp) {
+            schemas.add(name + "=" + schema);
+        }
+
+        @Override
+        public boolean hasSchema(String name) {
+            return false;
+        }
+
+        @Override
+        public void appendRaw(int entry, byte[] data, long timestamp) {
+            payloads.add(data);
+            timestamps.add(timestamp);
+        }
+    }
+
+    private static void writeDouble(WriteJournal journal, int handle, long timestampUs, double value) {
+        journal.beginData(handle, timestampUs, 8).putDouble(value);
+        journal.commit();
+    }
+
+    private static byte[] littleEndian(double value) {
+        return ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(value).array();
+    }
+
+    @Test
+    void replay_returnsRecordsOfTheLastEpochOnly() throws IOException {
+        Path file = dir.resolve(WriteJournal.FILE_NAME);
+        try (WriteJournal journal = WriteJournal.open(file, SIZE)) {
+            assertTrue(journal.define(0, "/Drive/Speed", "double"));
+            writeDouble(journal, 0, 100, 1.5);
+            journal.reset();
+            assertFalse(journal.isDefined(0));
+
+            assertTrue(journal.defineSchema("struct:Translation2d", "double x;double y"));
+            assertTrue(journal.define(3, "/Drive/Speed", "double"));
+            writeDouble(journal, 3, 200, 2.5);
+            writeDouble(journal, 3, 300, 3.5);
+        }
+
+        RecordingLog out = new RecordingLog();
+        assertEquals(2, WriteJournal.replay(file, out));
+        assertEquals(List.of("/Drive/Speed:double"), out.starts);
+        assertEquals(List.of("struct:Translation2d=double x;double y"), out.schemas);
+        assertEquals(List.of(200L, 300L), out.timestamps);
+        assertArrayEquals(littleEndian(2.5), out.payloads.get(0));
+        assertArrayEquals(littleEndian(3.5), out.payloads.get(1));
+    }
+
+    @Test
+    void advance_keepsEndedEpochReplayableUntilRetired() throws IOException {
+        Path file = dir.resolve(WriteJournal.FILE_NAME);
+        try (WriteJournal journal = WriteJournal.open(file, SIZE)) {
+            journal.define(0, "/a", "double");
+            writeDouble(journal, 0, 100, 1.0);
+            // Flushed but not yet synced: both epochs must come back after a crash.
+            int ended = journal.advance();
+            journal.define(0, "/a", "double");
+            writeDouble(journal, 0, 200, 2.0);
+            journal.force();
+
+            RecordingLog beforeSync = new RecordingLog();
+            assertEquals(2, WriteJournal.replay(file, beforeSync));
+            assertEquals(List.of(100L, 200L), beforeSync.timestamps);
+
+            journal.retire(ended);
+            RecordingLog afterSync = new RecordingLog();
+            assertEquals(1, WriteJournal.replay(file, afterSync));
+            assertEquals(List.of(200L), afterSync.timestamps);
+        }
+    }
+
+    @Test
+    void advance_waitsUntilPreviousEpochIsRetired() throws IOException {
+        Path file = dir.resolve(WriteJournal.FILE_NAME);
+        try (WriteJournal journal = WriteJournal.open(file, SIZE)) {
+            assertTrue(journal.canAdvance());
+            int first = journal.advance();
+            assertFalse(journal.canAdvance());
+            assertThrows(IllegalStateException.class, journal::advance);
+
+            // Records keep going into the current epoch meanwhile.
+            journal.define(0, "/a", "double");
+            writeDouble(journal, 0, 300, 3.0);
+            journal.retire(first);
+            assertTrue(journal.canAdvance());
+        }
+        RecordingLog out = new RecordingLog();
+        assertEquals(1, WriteJournal.replay(file, out));
+        assertEquals(List.of(300L), out.timestamps);
+    }
+
+    @Test
+    void replay_stopsAtUncommittedRecordAndReopenDiscardsOldRecords() throws IOException {
+        Path file = dir.resolve(WriteJournal.FILE_NAME);
+        try (WriteJournal journal = WriteJournal.open(file, SIZE)) {
+            journal.define(0, "/a", "double");
+            writeDouble(journal, 0, 100, 1.0);
+            journal.beginData(0, 200, 8).putDouble(2.0); // crash before commit
+        }
+        assertEquals(1, WriteJournal.replay(file, new RecordingLog()));
+
+        WriteJournal.open(file, SIZE).close();
+        assertEquals(0, WriteJournal.replay(file, new RecordingLog()));
+    }
+
+    @Test
+    void beginData_returnsNullWhenFull() throws IOException {
+        Path file = dir.resolve(WriteJournal.FILE_NAME);
+        try (WriteJournal journal = WriteJournal.open(file, SIZE)) {
+            journal.define(0, "/raw", "raw");
+            assertNull(journal.beginData(0, 100, SIZE));
+            journal.reset();
+            journal.define(0, "/raw", "raw");
+            writeDouble(journal, 0, 100, 1.0);
+        }
+        assertEquals(1, WriteJournal.replay(file, new RecordingLog()));
+    }
+}
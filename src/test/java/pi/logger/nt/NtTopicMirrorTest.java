@@ -0,0 +1,76 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+import edu.wpi.first.networktables.NetworkTableType;
+import org.junit.jupiter.api.Test;
+import pi.logger.telemetry.TelemetryPayloadType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link NtTopicMirror} topic selection and type mapping.
+ */
+class NtTopicMirrorTest {
+
+    @Test
+    void subscriptionPrefixes_dropPrefixesCoveredByShorterOnes() {
+        String[] prefixes = NtTopicMirror.subscriptionPrefixes(
+                NtTopicMirror.parseGlobs(" /Shooter/**, /Shooter/Flywheel/*, /Vision/Cam?/Ranges,,"));
+        assertArrayEquals(new String[] {"/.schema/", "/Shooter/", "/Vision/Cam"}, prefixes);
+    }
+
+    @Test
+    void subscriptionPrefixes_allTopicsGlobCoversSchemas() {
+        assertArrayEquals(new String[] {"/"}, NtTopicMirror.subscriptionPrefixes(List.of("/**")));
+    }
+
+    @Test
+    void dataLogType_keepsNtTypeStringForStringsAndRaw() {
+        assertEquals("struct:Pose2d", NtTopicMirror.dataLogType(NetworkTableType.kRaw, "struct:Pose2d"));
+        assertEquals("struct:SwerveModuleState[]",
+                NtTopicMirror.dataLogType(NetworkTableType.kRaw, "struct:SwerveModuleState[]"));
+        assertEquals("raw", NtTopicMirror.dataLogType(NetworkTableType.kRaw, ""));
+        assertEquals("json", NtTopicMirror.dataLogType(NetworkTableType.kString, "json"));
+        assertEquals("string", NtTopicMirror.dataLogType(NetworkTableType.kString, null));
+    }
+
+    @Test
+    void dataLogType_mapsNumericTypesAndSkipsStringArrays() {
+        assertEquals("int64", NtTopicMirror.dataLogType(NetworkTableType.kInteger, "int"));
+        assertEquals("int64[]", NtTopicMirror.dataLogType(NetworkTableType.kIntegerArray, "int[]"));
+        assertEquals("double", NtTopicMirror.dataLogType(NetworkTableType.kFloat, "float"));
+        assertEquals("float[]", NtTopicMirror.dataLogType(NetworkTableType.kFloatArray, "float[]"));
+        assertNull(NtTopicMirror.dataLogType(NetworkTableType.kStringArray, "string[]"));
+        assertNull(NtTopicMirror.payloadType(NetworkTableType.kStringArray));
+        assertEquals(TelemetryPayloadType.DOUBLE, NtTopicMirror.payloadType(NetworkTableType.kFloat));
+        assertEquals(TelemetryPayloadType.RAW_BYTES, NtTopicMirror.payloadType(NetworkTableType.kRaw));
+    }
+
+    @Test
+    void schemaType_byPrefix() {
+        assertEquals("structschema", NtTopicMirror.schemaType("struct:Pose2d"));
+        assertEquals("proto:FileDescriptorProto", NtTopicMirror.schemaType("proto:wpi.proto.ProtobufPose2d"));
+        assertEquals("", NtTopicMirror.schemaType("other"));
+    }
+
+    @Test
+    void retypedChannel_suffixesTheDataLogType() {
+        assertEquals("NT:/Shooter/Mode:int64", NtTopicMirror.retypedChannel("/Shooter/Mode", "int64"));
+        assertEquals("NT:/Vision/Pose:struct:Pose2d", NtTopicMirror.retypedChannel("/Vision/Pose", "struct:Pose2d"));
+    }
+}
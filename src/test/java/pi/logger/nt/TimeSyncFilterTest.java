@@ -0,0 +1,53 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TimeSyncFilter}.
+ */
+class TimeSyncFilterTest {
+
+    @Test
+    void update_keepsOffsetFromFastestPing() {
+        TimeSyncFilter filter = new TimeSyncFilter(4);
+        assertEquals(1000, filter.update(1000, 800));
+        assertEquals(1200, filter.update(1200, 300));
+        // A slow ping with a skewed offset doesn't move it.
+        assertEquals(1200, filter.update(9000, 20_000));
+        assertEquals(1100, filter.update(1100, 250));
+    }
+
+    @Test
+    void update_forgetsSamplesOutsideWindow() {
+        TimeSyncFilter filter = new TimeSyncFilter(2);
+        filter.update(500, 100);
+        filter.update(600, 400);
+        // The fast sample drops out once two newer ones arrive.
+        assertEquals(700, filter.update(700, 300));
+        assertEquals(700, filter.update(800, 350));
+    }
+
+    @Test
+    void reset_startsOver() {
+        TimeSyncFilter filter = new TimeSyncFilter(4);
+        filter.update(500, 100);
+        filter.reset();
+        assertEquals(-2_000_000, filter.update(-2_000_000, 900));
+    }
+}
@@ -0,0 +1,49 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.nt;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TopicHistory}.
+ */
+class TopicHistoryTest {
+
+    @Test
+    void published_recordsNewTopicsAndTypeChangesOnly() {
+        TopicHistory history = new TopicHistory();
+        assertEquals("publish /Shooter/RPM double", history.published("/Shooter/RPM", "double"));
+        assertNull(history.published("/Shooter/RPM", "double"));
+        assertEquals("retype /Shooter/RPM double -> int", history.published("/Shooter/RPM", "int"));
+        assertEquals(1, history.size());
+    }
+
+    @Test
+    void unpublished_forgetsTopic() {
+        TopicHistory history = new TopicHistory();
+        history.published("/Vision/Pose", "struct:Pose2d");
+        assertEquals("unpublish /Vision/Pose struct:Pose2d", history.unpublished("/Vision/Pose", "struct:Pose2d"));
+        assertEquals(0, history.size());
+        assertEquals("publish /Vision/Pose struct:Pose3d", history.published("/Vision/Pose", "struct:Pose3d"));
+    }
+
+    @Test
+    void propertiesChanged_includesJson() {
+        assertEquals("properties /a {\"persistent\":true}",
+                new TopicHistory().propertiesChanged("/a", "{\"persistent\":true}"));
+    }
+}
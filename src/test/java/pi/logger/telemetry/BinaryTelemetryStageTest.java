@@ -0,0 +1,174 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BinaryTelemetryStage} frame decoding.
+ */
+class BinaryTelemetryStageTest {
+
+    private static ByteBuffer frame(boolean timestamps, int records) {
+        return frame(BinaryTelemetryStage.KIND_DATA, timestamps, records);
+    }
+
+    private static ByteBuffer frame(byte kind, boolean timestamps, int records) {
+        ByteBuffer bb = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        bb.put(BinaryTelemetryStage.MAGIC);
+        bb.put(BinaryTelemetryStage.VERSION);
+        bb.put(kind);
+        bb.put(timestamps ? BinaryTelemetryStage.FLAG_TIMESTAMPS : 0);
+        bb.putShort((short) records);
+        return bb;
+    }
+
+    private static List<TelemetryEvent> decode(ByteBuffer bb, int expectedRecords) {
+        bb.flip();
+        List<TelemetryEvent> events = new ArrayList<>();
+        int decoded = BinaryTelemetryStage.decode(bb, TelemetrySource.UDP, 777L, events::add);
+        assertEquals(expectedRecords, decoded, "decoded record count");
+        assertEquals(0, bb.position(), "decode must not move the buffer position");
+        return events;
+    }
+
+    @Test
+    void scalarRecords_withoutTimestamps_useReceiveTime() {
+        ByteBuffer bb = frame(false, 4);
+        bb.putShort((short) 7).put(BinaryTelemetryStage.TAG_DOUBLE).putDouble(12.5);
+        bb.putShort((short) 8).put(BinaryTelemetryStage.TAG_INTEGER).putLong(-42L);
+        bb.putShort((short) 9).put(BinaryTelemetryStage.TAG_BOOLEAN).put((byte) 1);
+        bb.putShort((short) 10).put(BinaryTelemetryStage.TAG_FLOAT).putFloat(1.5f);
+
+        List<TelemetryEvent> events = decode(bb, 4);
+
+        assertEquals(4, events.size());
+        assertEquals(TelemetryPayloadType.DOUBLE, events.get(0).payloadType());
+        assertEquals(12.5, (Double) events.get(0).payload(), 1e-12);
+        assertEquals("udp/signal/7", events.get(0).channel());
+        assertEquals(777L, events.get(0).timestampUs());
+        assertEquals(TelemetryPayloadType.INTEGER, events.get(1).payloadType());
+        assertEquals(-42L, events.get(1).payload());
+        assertEquals(TelemetryPayloadType.BOOLEAN, events.get(2).payloadType());
+        assertEquals(true, events.get(2).payload());
+        assertEquals(TelemetryPayloadType.DOUBLE, events.get(3).payloadType());
+        assertEquals(1.5, (Double) events.get(3).payload(), 1e-12);
+    }
+
+    @Test
+    void records_withTimestamps_usePayloadTime() {
+        ByteBuffer bb = frame(true, 1);
+        bb.putShort((short) 1).put(BinaryTelemetryStage.TAG_DOUBLE).putLong(123_456L).putDouble(3.0);
+
+        List<TelemetryEvent> events = decode(bb, 1);
+
+        assertEquals(123_456L, events.get(0).timestampUs());
+    }
+
+    @Test
+    void variableLengthRecords_decodeArraysRawAndString() {
+        ByteBuffer bb = frame(false, 4);
+        bb.putShort((short) 1).put(BinaryTelemetryStage.TAG_DOUBLE_ARRAY).putShort((short) 3)
+                .putDouble(1.0).putDouble(2.0).putDouble(3.0);
+        bb.putShort((short) 2).put(BinaryTelemetryStage.TAG_BOOLEAN_ARRAY).putShort((short) 2)
+                .put((byte) 0).put((byte) 1);
+        bb.putShort((short) 3).put(BinaryTelemetryStage.TAG_RAW).putShort((short) 3)
+                .put((byte) 9).put((byte) 8).put((byte) 7);
+        byte[] text = "hi".getBytes(StandardCharsets.UTF_8);
+        bb.putShort((short) 4).put(BinaryTelemetryStage.TAG_STRING).putShort((short) text.length).put(text);
+
+        List<TelemetryEvent> events = decode(bb, 4);
+
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0}, (double[]) events.get(0).payload(), 1e-12);
+        assertArrayEquals(new boolean[]{false, true}, (boolean[]) events.get(1).payload());
+        assertEquals(TelemetryPayloadType.RAW_BYTES, events.get(2).payloadType());
+        assertArrayEquals(new byte[]{9, 8, 7}, (byte[]) events.get(2).payload());
+        assertEquals("hi", events.get(3).payload());
+    }
+
+    @Test
+    void truncatedFrame_isRejected() {
+        ByteBuffer bb = frame(false, 2);
+        bb.putShort((short) 1).put(BinaryTelemetryStage.TAG_DOUBLE).putDouble(1.0);
+        bb.putShort((short) 2).put(BinaryTelemetryStage.TAG_DOUBLE).putInt(0);
+        bb.flip();
+
+        List<TelemetryEvent> events = new ArrayList<>();
+        assertEquals(-1, BinaryTelemetryStage.decode(bb, TelemetrySource.UDP, 0L, events::add));
+        assertEquals(1, events.size(), "complete records before the truncation are kept");
+    }
+
+    @Test
+    void csvPayload_isNotDetectedAsBinary() {
+        ByteBuffer csv = ByteBuffer.wrap("1832903929,/RoboRio/CPUTemp,double,45,C".getBytes(StandardCharsets.UTF_8));
+        assertFalse(BinaryTelemetryStage.isBinaryFrame(csv));
+    }
+
+    // ---------------------------------------------------------------------------------
+    // Signal dictionary
+    // ---------------------------------------------------------------------------------
+
+    private static void announce(ByteBuffer bb, int signalId, byte tag, String name, String units) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] unitBytes = units.getBytes(StandardCharsets.UTF_8);
+        bb.putShort((short) signalId).put(tag)
+                .putShort((short) nameBytes.length).put(nameBytes)
+                .putShort((short) unitBytes.length).put(unitBytes);
+    }
+
+    @Test
+    void compactRecords_afterAnnounce_useAnnouncedNameAndType() {
+        ByteBuffer announce = frame(BinaryTelemetryStage.KIND_ANNOUNCE, false, 2);
+        announce(announce, 501, BinaryTelemetryStage.TAG_DOUBLE, "/RoboRio/InputVoltage", "Volts");
+        announce(announce, 502, BinaryTelemetryStage.TAG_BOOLEAN, "/RoboRio/IsBrownOut", "");
+        assertTrue(decode(announce, 2).isEmpty(), "announcements produce no events");
+        assertEquals(0, BinaryTelemetryStage.recordCount(announce), "announcements are not data records");
+
+        ByteBuffer data = frame(BinaryTelemetryStage.KIND_DATA_COMPACT, false, 2);
+        data.putShort((short) 501).putDouble(12.25);
+        data.putShort((short) 502).put((byte) 1);
+        List<TelemetryEvent> events = decode(data, 2);
+
+        assertEquals("/RoboRio/InputVoltage (Volts)", events.get(0).channel());
+        assertEquals(TelemetryPayloadType.DOUBLE, events.get(0).payloadType());
+        assertEquals(12.25, (Double) events.get(0).payload(), 1e-12);
+        assertNotEquals(TelemetryEvent.NO_HANDLE, events.get(0).channelHandle());
+        assertEquals("/RoboRio/IsBrownOut", events.get(1).channel());
+        assertEquals(true, events.get(1).payload());
+
+        List<TelemetryEvent> again = new ArrayList<>();
+        BinaryTelemetryStage.decode(data, TelemetrySource.UDP, 0L, again::add);
+        assertSame(events.get(0).channel(), again.get(0).channel(), "entry name is built once");
+    }
+
+    @Test
+    void compactRecord_forUnannouncedSignal_isDropped() {
+        ByteBuffer data = frame(BinaryTelemetryStage.KIND_DATA_COMPACT, false, 1);
+        data.putShort((short) 60_000).putDouble(1.0);
+        data.flip();
+
+        List<TelemetryEvent> events = new ArrayList<>();
+        assertEquals(-1, BinaryTelemetryStage.decode(data, TelemetrySource.UDP, 0L, events::add));
+        assertTrue(events.isEmpty());
+    }
+}
@@ -17,8 +17,11 @@ package pi.logger.telemetry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
-import pi.logger.utils.TimeUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,7 +40,7 @@ class CsvTelemetryStageTest {
 
     /**
      * Describes a raw UDP CSV packet and the exact {@link TelemetryEvent} fields that
-     * {@link CsvTelemetryStage#buildEvent} must produce from it.
+     * {@link CsvTelemetryStage#parse} must produce from it.
      */
     record RawPacketCase(
             String raw,
@@ -100,66 +103,82 @@ class CsvTelemetryStageTest {
 
     @ParameterizedTest(name = "{0}")
     @MethodSource("rawPackets")
-    void rawPacket_parsesCorrectly(RawPacketCase tc) {
-        String[] parts  = tc.raw().split(",", 5);
-        long ts         = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId = parts[1].trim();
-        String type     = parts[2].trim();
-        String value    = parts[3].trim();
-        String units    = parts.length > 4 ? parts[4].trim() : "";
-        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", tc.raw(), null);
-
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(
-                origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result, "buildEvent must not return null for a valid packet");
+    void rawPacket_tokenizerPathParsesCorrectly(RawPacketCase tc) {
+        List<TelemetryEvent> events = parse(tc.raw());
+
+        assertEquals(1, events.size(), "events");
+        TelemetryEvent result = events.get(0);
         assertEquals(tc.expectedTs(),      result.timestampUs(), "timestampUs");
         assertEquals(tc.expectedChannel(), result.channel(),     "channel");
         assertEquals(tc.expectedType(),    result.payloadType(), "payloadType");
+        assertEquals(tc.expectedValue(),   result.payload(),     "payload value");
+    }
+
+    @Test
+    void parse_arraysPoseAndBadValues() {
+        List<TelemetryEvent> events = parse(
+                "1.5,/Arm/Setpoints,double_array,1.25;-2;3e2;,rad\n"
+                + "2,/Drive/Pose2d,double_array,1;2;0.5\n"
+                + "3,/Buttons,bool_array,true;0;1;FALSE\n"
+                + "4,/Ids,int_array,-9223372036854775808;7\n"
+                + "5,/Axes,float_array,0.1;-0.75\n"
+                + "6,/Bad,double,1.2.3\n"
+                + "7,/Name,string, hello world ,\n");
+
+        assertEquals(6, events.size(), "malformed double must be dropped");
+        assertEquals(1_500_000L, events.get(0).timestampUs());
+        assertEquals("/Arm/Setpoints (rad)", events.get(0).channel());
+        assertArrayEquals(new double[] {1.25, -2, 300}, (double[]) events.get(0).payload());
+        assertEquals(TelemetryPayloadType.STRUCT, events.get(1).payloadType());
+        assertArrayEquals(new boolean[] {true, false, true, false}, (boolean[]) events.get(2).payload());
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 7}, (long[]) events.get(3).payload());
+        assertArrayEquals(new float[] {0.1f, -0.75f}, (float[]) events.get(4).payload());
+        assertEquals("/Name", events.get(5).channel());
+        assertEquals("hello world", events.get(5).payload());
+    }
 
-        if (tc.expectedValue() instanceof Double expected) {
-            assertEquals(expected, (Double) result.payload(), 1e-9, "payload value");
-        } else {
-            assertEquals(tc.expectedValue(), result.payload(), "payload value");
-        }
+    @Test
+    void parse_scalars_carryPrimitiveValuesWithoutObjectPayload() {
+        List<TelemetryEvent> events = parse(
+                "1,/V,double,12.5,Volts\n2,/N,int,-3,\n3,/B,bool,1,\n");
+
+        assertTrue(events.stream().allMatch(TelemetryEvent::hasScalar), "scalar slot");
+        assertEquals(12.5, events.get(0).doubleValue());
+        assertEquals(-3L, events.get(1).longValue());
+        assertTrue(events.get(2).booleanValue());
+        // payload() still boxes on demand for callers that want an Object.
+        assertEquals(Long.valueOf(-3), events.get(1).payload());
+    }
+
+    private static List<TelemetryEvent> parse(String payload) {
+        List<TelemetryEvent> events = new ArrayList<>();
+        new CsvTelemetryStage().parse(
+                ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8)), TelemetrySource.UDP, true, events::add);
+        return events;
     }
 
     // ---------------------------------------------------------------------------------
-    // buildEvent - array types
+    // parse - array types
     // ---------------------------------------------------------------------------------
 
-    private static TelemetryEvent origin() {
-        return new TelemetryEvent(0L, TelemetrySource.UDP,
-                TelemetryPayloadType.CSV, "udp/raw", "", null);
+    private static TelemetryEvent parseOne(String raw) {
+        List<TelemetryEvent> events = parse(raw);
+        assertEquals(1, events.size(), "events");
+        return events.get(0);
     }
 
     @Test
-    void buildEvent_doubleArrayType_producesDoubleArrayEvent() {
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(
-                origin(), 0L, "Signal", "double_array", "1.0;2.0;3.0", "", "Signal");
+    void parse_doubleArrayType_producesDoubleArrayEvent() {
+        TelemetryEvent result = parseOne("0,Signal,double_array,1.0;2.0;3.0,");
         assertEquals(TelemetryPayloadType.DOUBLE_ARRAY, result.payloadType());
         assertArrayEquals(new double[]{1.0, 2.0, 3.0}, (double[]) result.payload(), 1e-9);
     }
 
     @Test
-    void buildEvent_pose2dPacket_producesStructEvent() {
-        // Raw: 1832903929,/Chassis/Pose2d,double_array,13.9732;3.99347;0.000575243,X, Y, Rotation
-        String[] parts   = "1832903929,/Chassis/Pose2d,double_array,13.9732;3.99347;0.000575243,X, Y, Rotation".split(",", 5);
-        long ts          = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId  = parts[1].trim();
-        String type      = parts[2].trim();
-        String value     = parts[3].trim();
-        String units     = parts[4].trim();
-        String entryName = signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", "", null);
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result);
+    void parse_pose2dPacket_producesStructEvent() {
+        TelemetryEvent result = parseOne(
+                "1832903929,/Chassis/Pose2d,double_array,13.9732;3.99347;0.000575243,X, Y, Rotation");
+
         assertEquals(1832903929L,                          result.timestampUs(), "timestampUs");
         assertEquals("/Chassis/Pose2d (X, Y, Rotation)",  result.channel(),     "channel");
         assertEquals(TelemetryPayloadType.STRUCT,          result.payloadType(), "payloadType");
@@ -172,21 +191,9 @@ class CsvTelemetryStageTest {
     }
 
     @Test
-    void buildEvent_questPose2dPacket_allZeros_producesStructEvent() {
-        // Raw: 1832883890,/Chassis/QuestPose2d,double_array,0;0;0,X, Y, Rotation
-        String[] parts   = "1832883890,/Chassis/QuestPose2d,double_array,0;0;0,X, Y, Rotation".split(",", 5);
-        long ts          = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId  = parts[1].trim();
-        String type      = parts[2].trim();
-        String value     = parts[3].trim();
-        String units     = parts[4].trim();
-        String entryName = signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", "", null);
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result);
+    void parse_questPose2dPacket_allZeros_producesStructEvent() {
+        TelemetryEvent result = parseOne("1832883890,/Chassis/QuestPose2d,double_array,0;0;0,X, Y, Rotation");
+
         assertEquals(1832883890L,                              result.timestampUs(), "timestampUs");
         assertEquals("/Chassis/QuestPose2d (X, Y, Rotation)", result.channel(),     "channel");
         assertEquals(TelemetryPayloadType.STRUCT,              result.payloadType(), "payloadType");
@@ -199,29 +206,16 @@ class CsvTelemetryStageTest {
     }
 
     @Test
-    void buildEvent_boolArrayType_producesBooleanArrayEvent() {
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(
-                origin(), 0L, "Flags", "bool_array", "true;false", "", "Flags");
+    void parse_boolArrayType_producesBooleanArrayEvent() {
+        TelemetryEvent result = parseOne("0,Flags,bool_array,true;false,");
         assertEquals(TelemetryPayloadType.BOOLEAN_ARRAY, result.payloadType());
         assertArrayEquals(new boolean[]{true, false}, (boolean[]) result.payload());
     }
 
     @Test
-    void buildEvent_joystickButtonsPacket_producesBooleanArrayEvent() {
-        // Raw: 1832883890,DS:joystick1/buttons,bool_array,0;0;0;0;0;0;0;0;0;0,
-        String[] parts   = "1832883890,DS:joystick1/buttons,bool_array,0;0;0;0;0;0;0;0;0;0,".split(",", 5);
-        long ts          = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId  = parts[1].trim();
-        String type      = parts[2].trim();
-        String value     = parts[3].trim();
-        String units     = parts[4].trim();
-        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", "", null);
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result);
+    void parse_joystickButtonsPacket_producesBooleanArrayEvent() {
+        TelemetryEvent result = parseOne("1832883890,DS:joystick1/buttons,bool_array,0;0;0;0;0;0;0;0;0;0,");
+
         assertEquals(1832883890L,                       result.timestampUs(), "timestampUs");
         assertEquals("DS:joystick1/buttons",            result.channel(),     "channel");
         assertEquals(TelemetryPayloadType.BOOLEAN_ARRAY, result.payloadType(), "payloadType");
@@ -231,21 +225,9 @@ class CsvTelemetryStageTest {
     }
 
     @Test
-    void buildEvent_joystick0ButtonsPacket_producesBooleanArrayEvent() {
-        // Raw: 184816,DS:joystick0/buttons,bool_array,0;1;0;1;0;0;0;0;0;0,
-        String[] parts   = "184816,DS:joystick0/buttons,bool_array,0;1;0;1;0;0;0;0;0;0,".split(",", 5);
-        long ts          = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId  = parts[1].trim();
-        String type      = parts[2].trim();
-        String value     = parts[3].trim();
-        String units     = parts[4].trim();
-        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", "", null);
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result);
+    void parse_joystick0ButtonsPacket_producesBooleanArrayEvent() {
+        TelemetryEvent result = parseOne("184816,DS:joystick0/buttons,bool_array,0;1;0;1;0;0;0;0;0;0,");
+
         assertEquals(184816L,                           result.timestampUs(), "timestampUs");
         assertEquals("DS:joystick0/buttons",            result.channel(),     "channel");
         assertEquals(TelemetryPayloadType.BOOLEAN_ARRAY, result.payloadType(), "payloadType");
@@ -255,37 +237,23 @@ class CsvTelemetryStageTest {
     }
 
     @Test
-    void buildEvent_intArrayType_producesIntegerArrayEvent() {
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(
-                origin(), 0L, "Counts", "int_array", "1;2;3", "", "Counts");
+    void parse_intArrayType_producesIntegerArrayEvent() {
+        TelemetryEvent result = parseOne("0,Counts,int_array,1;2;3,");
         assertEquals(TelemetryPayloadType.INTEGER_ARRAY, result.payloadType());
         assertArrayEquals(new long[]{1L, 2L, 3L}, (long[]) result.payload());
     }
 
     @Test
-    void buildEvent_floatArrayType_producesFloatArrayEvent() {
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(
-                origin(), 0L, "Floats", "float_array", "1.0;2.0", "", "Floats");
+    void parse_floatArrayType_producesFloatArrayEvent() {
+        TelemetryEvent result = parseOne("0,Floats,float_array,1.0;2.0,");
         assertEquals(TelemetryPayloadType.FLOAT_ARRAY, result.payloadType());
         assertArrayEquals(new float[]{1.0f, 2.0f}, (float[]) result.payload(), 1e-6f);
     }
 
     @Test
-    void buildEvent_joystickAxesPacket_producesFloatArrayEvent() {
-        // Raw: 1832883890,DS:joystick1/axes,float_array,0;-0;0;0;0;-0,
-        String[] parts   = "1832883890,DS:joystick1/axes,float_array,0;-0;0;0;0;-0,".split(",", 5);
-        long ts          = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId  = parts[1].trim();
-        String type      = parts[2].trim();
-        String value     = parts[3].trim();
-        String units     = parts[4].trim();
-        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", "", null);
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result);
+    void parse_joystickAxesPacket_producesFloatArrayEvent() {
+        TelemetryEvent result = parseOne("1832883890,DS:joystick1/axes,float_array,0;-0;0;0;0;-0,");
+
         assertEquals(1832883890L,                      result.timestampUs(), "timestampUs");
         assertEquals("DS:joystick1/axes",              result.channel(),     "channel");
         assertEquals(TelemetryPayloadType.FLOAT_ARRAY, result.payloadType(), "payloadType");
@@ -294,21 +262,9 @@ class CsvTelemetryStageTest {
     }
 
     @Test
-    void buildEvent_joystick0AxesPacket_producesFloatArrayEvent() {
-        // Raw: 1832883890,DS:joystick0/axes,float_array,-0;-0;0;0;-0;0,
-        String[] parts   = "1832883890,DS:joystick0/axes,float_array,-0;-0;0;0;-0;0,".split(",", 5);
-        long ts          = TimeUtils.parseTimestampMicros(parts[0].trim());
-        String signalId  = parts[1].trim();
-        String type      = parts[2].trim();
-        String value     = parts[3].trim();
-        String units     = parts[4].trim();
-        String entryName = units.isEmpty() ? signalId : signalId + " (" + units + ")";
-
-        TelemetryEvent origin = new TelemetryEvent(
-                0L, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp/raw", "", null);
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(origin, ts, entryName, type, value, units, signalId);
-
-        assertNotNull(result);
+    void parse_joystick0AxesPacket_producesFloatArrayEvent() {
+        TelemetryEvent result = parseOne("1832883890,DS:joystick0/axes,float_array,-0;-0;0;0;-0;0,");
+
         assertEquals(1832883890L,                      result.timestampUs(), "timestampUs");
         assertEquals("DS:joystick0/axes",              result.channel(),     "channel");
         assertEquals(TelemetryPayloadType.FLOAT_ARRAY, result.payloadType(), "payloadType");
@@ -317,22 +273,19 @@ class CsvTelemetryStageTest {
     }
 
     // ---------------------------------------------------------------------------------
-    // buildEvent - bad input
+    // parse - bad input
     // ---------------------------------------------------------------------------------
 
     @Test
-    void buildEvent_unknownType_fallsBackToString() {
-        TelemetryEvent result = CsvTelemetryStage.buildEvent(
-                origin(), 0L, "X", "quaternion", "1,0,0,0", "", "X");
-        assertNotNull(result);
+    void parse_unknownType_fallsBackToString() {
+        TelemetryEvent result = parseOne("0,X,quaternion,1;0;0;0,");
         assertEquals(TelemetryPayloadType.STRING, result.payloadType(), "payloadType");
-        assertEquals("1,0,0,0", result.payload(), "payload value");
+        assertEquals("1;0;0;0", result.payload(), "payload value");
     }
 
     @Test
-    void buildEvent_unparsableDoubleValue_returnsNull() {
-        assertNull(CsvTelemetryStage.buildEvent(
-                origin(), 0L, "X", "double", "not-a-number", "", "X"));
+    void parse_unparsableDoubleValue_emitsNothing() {
+        assertTrue(parse("0,X,double,not-a-number,").isEmpty());
     }
 
     // ---------------------------------------------------------------------------------
@@ -365,4 +318,19 @@ class CsvTelemetryStageTest {
     void apply_nullPayload_doesNotThrow() {
         assertDoesNotThrow(() -> new CsvTelemetryStage().apply(csvContext(null)));
     }
+
+    // ---------------------------------------------------------------------------------
+    // apply() - multi-record datagrams
+    // ---------------------------------------------------------------------------------
+
+    @Test
+    void apply_newlineDelimitedRecords_publishesOneEventPerRecord() {
+        String batch = "1832903929,/RoboRio/InputVoltage,double,12,Volts\n"
+                + "1832903929,/RoboRio/IsBrownOut,bool,false,bool\r\n"
+                + "\n"
+                + "1832903929,/RoboRio/CPUTemp,double,45,Degrees C\n";
+        int before = TelemetryProcessor.getPendingQueueSize();
+        new CsvTelemetryStage().apply(csvContext(batch));
+        assertEquals(3, TelemetryProcessor.getPendingQueueSize() - before, "published events");
+    }
 }
\ No newline at end of file
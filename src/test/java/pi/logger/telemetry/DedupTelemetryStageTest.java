@@ -0,0 +1,106 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import org.junit.jupiter.api.Test;
+import pi.logger.structs.ChassisSpeeds;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link DedupTelemetryStage} suppression and keyframes.
+ */
+class DedupTelemetryStageTest {
+
+    private static final long HOUR_US = 3_600_000_000L;
+
+    private static boolean passes(DedupTelemetryStage stage, TelemetryEvent event) {
+        TelemetryContext context = new TelemetryContext(event);
+        stage.apply(context);
+        return !context.isDropped();
+    }
+
+    private static TelemetryEvent speeds(long timestampUs, double vx) {
+        return new TelemetryEvent(timestampUs, TelemetrySource.NETWORK_TABLES, TelemetryPayloadType.STRUCT,
+                "DriveState/ChassisSpeeds", new ChassisSpeeds(vx, 0, 0), ChassisSpeeds.struct, 4);
+    }
+
+    @Test
+    void scalar_unchangedValuesAreDroppedUntilKeyframe() {
+        DedupTelemetryStage stage = new DedupTelemetryStage();
+        long before = DedupTelemetryStage.getSuppressedCount();
+
+        assertTrue(passes(stage, TelemetryEvent.ofDouble(1_000, TelemetrySource.UDP, "a", 1.5, 3)));
+        assertFalse(passes(stage, TelemetryEvent.ofDouble(1_010, TelemetrySource.UDP, "a", 1.5, 3)));
+        assertTrue(passes(stage, TelemetryEvent.ofDouble(1_020, TelemetrySource.UDP, "a", 2.5, 3)));
+        assertTrue(passes(stage, TelemetryEvent.ofDouble(1_020 + HOUR_US, TelemetrySource.UDP, "a", 2.5, 3)));
+        assertEquals(before + 1, DedupTelemetryStage.getSuppressedCount());
+    }
+
+    @Test
+    void channelsAreTrackedSeparatelyByHandleAndName() {
+        DedupTelemetryStage stage = new DedupTelemetryStage();
+
+        assertTrue(passes(stage, TelemetryEvent.ofLong(1_000, TelemetrySource.UDP, "a", 7, 1)));
+        assertTrue(passes(stage, TelemetryEvent.ofLong(1_010, TelemetrySource.UDP, "b", 7, 2)));
+        assertTrue(passes(stage, TelemetryEvent.ofLong(1_020, TelemetrySource.UDP, "c", 7, TelemetryEvent.NO_HANDLE)));
+        assertFalse(passes(stage, TelemetryEvent.ofLong(1_030, TelemetrySource.UDP, "c", 7, TelemetryEvent.NO_HANDLE)));
+        // Same channel with a different type is a change
+        assertTrue(passes(stage, TelemetryEvent.ofBoolean(1_040, TelemetrySource.UDP, "c", true, TelemetryEvent.NO_HANDLE)));
+    }
+
+    @Test
+    void arraysAndStructsCompareByContent() {
+        DedupTelemetryStage stage = new DedupTelemetryStage();
+
+        assertTrue(passes(stage, new TelemetryEvent(1_000, TelemetrySource.UDP, TelemetryPayloadType.DOUBLE_ARRAY,
+                "arr", new double[] {1, 2}, null, 5)));
+        assertFalse(passes(stage, new TelemetryEvent(1_010, TelemetrySource.UDP, TelemetryPayloadType.DOUBLE_ARRAY,
+                "arr", new double[] {1, 2}, null, 5)));
+        assertTrue(passes(stage, new TelemetryEvent(1_020, TelemetrySource.UDP, TelemetryPayloadType.DOUBLE_ARRAY,
+                "arr", new double[] {1, 3}, null, 5)));
+
+        assertTrue(passes(stage, speeds(1_000, 0.5)));
+        assertFalse(passes(stage, speeds(1_010, 0.5)));
+        assertTrue(passes(stage, speeds(1_020, 0.75)));
+    }
+
+    @Test
+    void envelopesPassThrough() {
+        DedupTelemetryStage stage = new DedupTelemetryStage();
+        TelemetryEvent csv = new TelemetryEvent(1_000, TelemetrySource.UDP, TelemetryPayloadType.CSV, "udp", "x", null);
+
+        assertTrue(passes(stage, csv));
+        assertTrue(passes(stage, csv));
+    }
+
+    @Test
+    void onlySelectedNonAuditChannelsAreDeduplicated() {
+        DedupTelemetryStage stage = new DedupTelemetryStage("DriveState/**, NT/**");
+
+        assertTrue(passes(stage, TelemetryEvent.ofLong(1_000, TelemetrySource.UDP, "DriveState/Mode", 2, 6)));
+        assertFalse(passes(stage, TelemetryEvent.ofLong(1_010, TelemetrySource.UDP, "DriveState/Mode", 2, 6)));
+        // Not selected
+        assertTrue(passes(stage, TelemetryEvent.ofLong(1_000, TelemetrySource.UDP, "udp/x", 2, 7)));
+        assertTrue(passes(stage, TelemetryEvent.ofLong(1_010, TelemetrySource.UDP, "udp/x", 2, 7)));
+        // Audit channels are kept even when a glob selects them
+        for (int i = 0; i < 2; i++) {
+            assertTrue(passes(stage, new TelemetryEvent(1_000 + i, TelemetrySource.NETWORK_TABLES,
+                    TelemetryPayloadType.STRING, "NT/Topics", "publish /a double", null, 8)));
+            assertTrue(passes(stage, TelemetryEvent.ofLong(1_000 + i, TelemetrySource.NETWORK_TABLES,
+                    "NT/TimeSync/RttUs", 900, 9)));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBounds_stayWithinRelativePrecision() {
+        for (long v = 0; v < 1_000_000; v += 7) {
+            long upper = LatencyHistogram.highestValueIn(LatencyHistogram.indexFor(v));
+            assertTrue(upper >= v, "upper bound below value " + v);
+            assertTrue(upper - v <= v / 16, "bucket too wide for " + v);
+        }
+        long upper = LatencyHistogram.highestValueIn(LatencyHistogram.indexFor(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, upper);
+    }
+
+    @Test
+    void valueAtPercentile_reportsBucketHoldingRank() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.valueAtPercentile(99.0));
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        histogram.record(-5);
+        assertEquals(1001, histogram.totalCount());
+        assertEquals(0, LatencyHistogram.indexFor(0));
+        long p50 = histogram.valueAtPercentile(50.0);
+        assertTrue(p50 >= 500 && p50 <= 500 + 500 / 16, "p50 " + p50);
+        long max = histogram.valueAtPercentile(100.0);
+        assertTrue(max >= 1000 && max <= 1000 + 1000 / 16, "max " + max);
+    }
+
+    @Test
+    void stageMetrics_tracksCountTotalAndMax() {
+        StageMetrics metrics = new StageMetrics("test");
+        metrics.record(100);
+        metrics.record(300);
+        assertEquals(2, metrics.invocations());
+        assertEquals(400, metrics.totalNanos());
+        assertEquals(300, metrics.maxNanos());
+        assertEquals(200.0, metrics.averageNanos());
+        assertEquals(2, metrics.histogram().totalCount());
+    }
+}
@@ -0,0 +1,138 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RateLimitTelemetryStage} rule parsing and windowing.
+ */
+class RateLimitTelemetryStageTest {
+
+    private static TelemetryEvent sample(String channel, long timestampUs, double value) {
+        return TelemetryEvent.ofDouble(timestampUs, TelemetrySource.UDP, channel, value, TelemetryEvent.NO_HANDLE);
+    }
+
+    @Test
+    void parseRules_skipsMalformedEntries() {
+        List<RateLimitTelemetryStage.Rule> rules =
+                RateLimitTelemetryStage.parseRules("/a/**=50:mean, bad, /b=0, /c=10:median, /d=250");
+
+        assertEquals(2, rules.size());
+        assertEquals(RateLimitTelemetryStage.Mode.MEAN, rules.get(0).mode());
+        assertEquals(20_000, rules.get(0).periodUs());
+        assertEquals(RateLimitTelemetryStage.Mode.LAST, rules.get(1).mode());
+        assertEquals(4_000, rules.get(1).periodUs());
+    }
+
+    @Test
+    void last_writesOneSamplePerWindow() {
+        RateLimitTelemetryStage stage = new RateLimitTelemetryStage("/fast=50");
+        List<TelemetryEvent> out = new ArrayList<>();
+
+        // 250 Hz for 64 ms: the first sample goes straight through, then the newest of each 20 ms window
+        assertFalse(stage.limit(sample("/fast", 0, 0), out::add, 0));
+        for (int i = 1; i < 16; i++) {
+            assertTrue(stage.limit(sample("/fast", i * 4_000L, i), out::add, i * 4_000_000L));
+        }
+
+        assertEquals(3, out.size());
+        assertEquals(16_000, out.get(0).timestampUs());
+        assertEquals(4.0, out.get(0).doubleValue());
+        assertEquals(36_000, out.get(1).timestampUs());
+        assertEquals(9.0, out.get(1).doubleValue());
+        assertEquals(56_000, out.get(2).timestampUs());
+        assertEquals(14.0, out.get(2).doubleValue());
+        assertEquals(Long.valueOf(11), RateLimitTelemetryStage.getDroppedCounts().get("/fast"));
+    }
+
+    @Test
+    void last_writesLoneAndTrailingSamples() {
+        RateLimitTelemetryStage stage = new RateLimitTelemetryStage("/quiet=10");
+        List<TelemetryEvent> out = new ArrayList<>();
+
+        // A lone sample is written at once, not when the next one arrives
+        assertFalse(stage.limit(sample("/quiet", 0, 1), out::add, 0));
+        stage.tick(out::add, 200_000_000L);
+        assertTrue(out.isEmpty());
+
+        // A burst: the first passes, the last is held until its window ends on the local clock
+        assertFalse(stage.limit(sample("/quiet", 1_000_000, 2), out::add, 1_000_000_000L));
+        assertTrue(stage.limit(sample("/quiet", 1_010_000, 3), out::add, 1_010_000_000L));
+        assertTrue(stage.limit(sample("/quiet", 1_020_000, 4), out::add, 1_020_000_000L));
+        stage.tick(out::add, 1_050_000_000L);
+        assertTrue(out.isEmpty());
+        stage.tick(out::add, 1_100_000_000L);
+
+        assertEquals(1, out.size());
+        assertEquals(1_020_000, out.get(0).timestampUs());
+        assertEquals(4.0, out.get(0).doubleValue());
+
+        // Nothing else is held, so the next window closes without writing anything
+        stage.tick(out::add, 1_200_000_000L);
+        assertEquals(1, out.size());
+        assertFalse(stage.limit(sample("/quiet", 1_300_000, 5), out::add, 1_300_000_000L));
+    }
+
+    @Test
+    void aggregates_summarizeTheWindow() {
+        RateLimitTelemetryStage mean = new RateLimitTelemetryStage("/m=10:mean");
+        RateLimitTelemetryStage max = new RateLimitTelemetryStage("/m=10:max");
+        List<TelemetryEvent> means = new ArrayList<>();
+        List<TelemetryEvent> maxes = new ArrayList<>();
+        double[] values = {1, 5, 3, 7};
+        for (int i = 0; i < values.length; i++) {
+            mean.limit(sample("/m", i * 10_000L, values[i]), means::add);
+            max.limit(sample("/m", i * 10_000L, values[i]), maxes::add);
+        }
+        mean.limit(sample("/m", 100_000, 0), means::add);
+        max.limit(sample("/m", 100_000, 0), maxes::add);
+
+        assertEquals(4.0, means.get(0).doubleValue(), 1e-12);
+        assertEquals(7.0, maxes.get(0).doubleValue());
+        assertEquals(30_000, maxes.get(0).timestampUs());
+    }
+
+    @Test
+    void aggregates_flushOnTickOnceTheWindowHasPassed() {
+        RateLimitTelemetryStage stage = new RateLimitTelemetryStage("/agg=10:min");
+        List<TelemetryEvent> out = new ArrayList<>();
+
+        assertTrue(stage.limit(sample("/agg", 0, 6), out::add, 0));
+        assertTrue(stage.limit(sample("/agg", 50_000, 2), out::add, 50_000_000L));
+        stage.tick(out::add, 99_000_000L);
+        assertTrue(out.isEmpty());
+        stage.tick(out::add, 100_000_000L);
+
+        assertEquals(1, out.size());
+        assertEquals(2.0, out.get(0).doubleValue());
+        assertEquals(50_000, out.get(0).timestampUs());
+    }
+
+    @Test
+    void unmatchedChannelsPassThrough() {
+        RateLimitTelemetryStage stage = new RateLimitTelemetryStage("/fast=50");
+        List<TelemetryEvent> out = new ArrayList<>();
+
+        assertFalse(stage.limit(sample("/slow", 0, 1), out::add));
+        assertFalse(stage.limit(sample("/slow", 1, 2), out::add));
+        assertTrue(out.isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TelemetryRingBuffer}.
+ */
+class TelemetryRingBufferTest {
+
+    @Test
+    void capacity_roundsUpToPowerOfTwo() {
+        assertEquals(32768, new TelemetryRingBuffer(20_000).capacity());
+        assertEquals(16, new TelemetryRingBuffer(16).capacity());
+        assertEquals(1, new TelemetryRingBuffer(1).capacity());
+    }
+
+    @Test
+    void tryClaim_fullRing_returnsFullUntilConsumerReleases() {
+        TelemetryRingBuffer ring = new TelemetryRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            long sequence = ring.tryClaim();
+            assertEquals(i, sequence);
+            ring.publish(sequence);
+        }
+        assertEquals(TelemetryRingBuffer.FULL, ring.tryClaim(), "ring should be full");
+        assertEquals(4, ring.size());
+
+        assertTrue(ring.isPublished(0));
+        ring.release(0);
+        assertEquals(4, ring.tryClaim(), "released slot is reusable");
+        assertFalse(ring.isPublished(4), "claimed but unpublished");
+    }
+
+    @Test
+    void concurrentProducers_everyEventConsumedOnceInSequenceOrder() throws Exception {
+        TelemetryRingBuffer ring = new TelemetryRingBuffer(64);
+        int producers = 3;
+        int perProducer = 20_000;
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    long sequence;
+                    while ((sequence = ring.tryClaim()) == TelemetryRingBuffer.FULL) {
+                        Thread.onSpinWait();
+                    }
+                    ring.slot(sequence).setScalar(
+                            i, TelemetrySource.UDP, TelemetryPayloadType.INTEGER, "p" + producer, i, producer);
+                    ring.publish(sequence);
+                }
+            });
+            threads[p].start();
+        }
+
+        long[] nextExpected = new long[producers];
+        for (long sequence = 0; sequence < (long) producers * perProducer; sequence++) {
+            while (!ring.isPublished(sequence)) {
+                Thread.onSpinWait();
+            }
+            TelemetryEvent event = ring.slot(sequence);
+            int producer = event.channelHandle();
+            if (event.longValue() != nextExpected[producer]++) {
+                failed.set(true);
+            }
+            ring.release(sequence);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed.get(), "each producer's events arrive once and in order");
+        assertEquals(0, ring.size());
+    }
+}
@@ -0,0 +1,108 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FastNumberParser}. Every result must be bit-identical to the JDK
+ * parser, including inputs that take the fallback path.
+ */
+class FastNumberParserTest {
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {
+        "0", "-0", "1", "-1.5", "0.1", "2.41188", "123456789.123", "1e22", "1e23", "4.9e-324",
+        "2.2250738585072014E-308", "1.7976931348623157e308", "1.8e308", "9007199254740993",
+        "9384239300608.000000", "12345678901234567890.5", ".5", "5.", "+3.25", " 7.25 ",
+        "NaN", "-Infinity", "1d", "0x1p3", "3.14159265358979323846", "1.0E-5", "0.123456789"
+    })
+    void parseDoubleAndFloat_matchJdk(String text) {
+        assertMatchesJdk(text);
+    }
+
+    @Test
+    void parseDoubleAndFloat_randomRobotStyleValues_matchJdk() {
+        Random random = new Random(302);
+        for (int i = 0; i < 20_000; i++) {
+            double value = switch (i % 4) {
+                case 0 -> Double.longBitsToDouble(random.nextLong());
+                case 1 -> random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20);
+                case 2 -> Float.intBitsToFloat(random.nextInt());
+                default -> Math.round(random.nextDouble() * 1e6) / 1e4;
+            };
+            String text = switch (i % 3) {
+                case 0 -> Double.toString(value);
+                case 1 -> Float.toString((float) value);
+                default -> String.format("%.6f", value);
+            };
+            assertMatchesJdk(text);
+        }
+    }
+
+    @Test
+    void parseDouble_malformed_throwsNumberFormatException() {
+        assertThrows(NumberFormatException.class, () -> parseDouble("1.2.3"));
+        assertThrows(NumberFormatException.class, () -> parseDouble("-"));
+        assertThrows(NumberFormatException.class, () -> parseDouble(""));
+    }
+
+    @Test
+    void parseLong_rangeAndErrors() {
+        assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775808"));
+        assertEquals(Long.MAX_VALUE, parseLong("+9223372036854775807"));
+        assertEquals(42L, parseLong(" 42 "));
+        assertThrows(NumberFormatException.class, () -> parseLong("9223372036854775808"));
+        assertThrows(NumberFormatException.class, () -> parseLong("1.0"));
+        assertThrows(NumberFormatException.class, () -> parseLong("-"));
+    }
+
+    @Test
+    void parseTimestampMicros_secondsAndMicros() {
+        assertEquals(1832903929L, TimeUtils.parseTimestampMicros("1832903929"));
+        assertEquals(12_345_678L, TimeUtils.parseTimestampMicros("12.345678"));
+        assertEquals(0L, TimeUtils.parseTimestampMicros("not-a-time"));
+        assertEquals(0L, TimeUtils.parseTimestampMicros(""));
+    }
+
+    private static void assertMatchesJdk(String text) {
+        assertEquals(Double.doubleToRawLongBits(Double.parseDouble(text)),
+                Double.doubleToRawLongBits(parseDouble(text)), "double: " + text);
+        assertEquals(Float.floatToRawIntBits(Float.parseFloat(text)),
+                Float.floatToRawIntBits(parseFloat(text)), "float: " + text);
+    }
+
+    private static double parseDouble(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return FastNumberParser.parseDouble(bytes, 0, bytes.length);
+    }
+
+    private static float parseFloat(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return FastNumberParser.parseFloat(bytes, 0, bytes.length);
+    }
+
+    private static long parseLong(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return FastNumberParser.parseLong(bytes, 0, bytes.length);
+    }
+}
@@ -0,0 +1,42 @@
+//====================================================================================================================================================
+// Copyright 2026 Lake Orion Robotics FIRST Team 302
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+// to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+// and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF
+// MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+// DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE
+// OR OTHER DEALINGS IN THE SOFTWARE.
+//====================================================================================================================================================
+package pi.logger.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link Globs}.
+ */
+class GlobsTest {
+
+    @Test
+    void toPattern_matchesWithinAndAcrossLevels() {
+        assertTrue(Globs.toPattern("/Vision/*").matcher("/Vision/Ranges").matches());
+        assertFalse(Globs.toPattern("/Vision/*").matcher("/Vision/Front/Ranges").matches());
+        assertTrue(Globs.toPattern("/Vision/**").matcher("/Vision/Front/Ranges").matches());
+        assertTrue(Globs.toPattern("udp/signal/1?").matcher("udp/signal/12").matches());
+        assertFalse(Globs.toPattern("a.b").matcher("axb").matches());
+    }
+
+    @Test
+    void literalPrefix_stopsAtFirstWildcard() {
+        assertEquals("/Shooter/", Globs.literalPrefix("/Shooter/**"));
+        assertEquals("/Vision/Cam", Globs.literalPrefix("/Vision/Cam?/*"));
+        assertEquals("/Exact/Topic", Globs.literalPrefix("/Exact/Topic"));
+        assertEquals("", Globs.literalPrefix("**"));
+    }
+}